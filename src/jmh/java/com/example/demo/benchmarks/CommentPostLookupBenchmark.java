@@ -0,0 +1,105 @@
+package com.example.demo.benchmarks;
+
+import com.example.demo.entities.Comment;
+import com.example.demo.entities.Post;
+import com.example.demo.entities.User;
+import com.example.demo.entities.enums.PostCategory;
+import com.example.demo.entities.enums.Role;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CommentPostLookupBenchmark {
+    @Param({"0", "1000", "100000"})
+    public int upvoters;
+
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+    private UUID postId;
+    private UUID userId;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        String url = "jdbc:h2:mem:lookup-" + upvoters + ";DB_CLOSE_DELAY=-1";
+        Flyway.configure().dataSource(url, "sa", "").load().migrate();
+
+        entityManagerFactory = new Configuration()
+                .addAnnotatedClass(User.class)
+                .addAnnotatedClass(Post.class)
+                .addAnnotatedClass(Comment.class)
+                .setProperty("hibernate.connection.url", url)
+                .setProperty("hibernate.connection.username", "sa")
+                .setProperty("hibernate.connection.password", "")
+                .setProperty("hibernate.hbm2ddl.auto", "none")
+                .setProperty("hibernate.cache.use_second_level_cache", "false")
+                .buildSessionFactory();
+        entityManager = entityManagerFactory.createEntityManager();
+
+        entityManager.getTransaction().begin();
+        User user = new User("benchmark", "benchmark@example.com", "password", Role.ROLE_USER);
+        entityManager.persist(user);
+        Post post = new Post("Benchmark post", "x".repeat(500), Instant.now(),
+                new HashSet<>(Set.of(PostCategory.technology, PostCategory.travel)), user);
+        for (int i = 0; i < upvoters; i++) {
+            post.increaseUpvote(UUID.randomUUID());
+        }
+        entityManager.persist(post);
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+
+        postId = post.getId();
+        userId = user.getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        entityManager.close();
+        entityManagerFactory.close();
+    }
+
+    @Benchmark
+    public Comment findById() {
+        entityManager.getTransaction().begin();
+        try {
+            return insertComment(entityManager.find(Post.class, postId));
+        } finally {
+            rollback();
+        }
+    }
+
+    @Benchmark
+    public Comment getReferenceById() {
+        entityManager.getTransaction().begin();
+        try {
+            return insertComment(entityManager.getReference(Post.class, postId));
+        } finally {
+            rollback();
+        }
+    }
+
+    private Comment insertComment(Post post) {
+        Comment comment = new Comment("content", Instant.now(), post, entityManager.getReference(User.class, userId));
+        entityManager.persist(comment);
+        entityManager.flush();
+        return comment;
+    }
+
+    private void rollback() {
+        entityManager.getTransaction().rollback();
+        entityManager.clear();
+    }
+}
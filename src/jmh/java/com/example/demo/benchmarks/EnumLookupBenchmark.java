@@ -0,0 +1,40 @@
+package com.example.demo.benchmarks;
+
+import com.example.demo.entities.enums.PostCategory;
+import com.example.demo.entities.enums.Role;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnumLookupBenchmark {
+    public int categoryCode = PostCategory.personal_development.getCode();
+    public int roleCode = Role.ROLE_ADMIN.getCode();
+    public String categoryName = PostCategory.personal_development.name();
+    public String roleName = Role.ROLE_ADMIN.name();
+
+    @Benchmark
+    public PostCategory postCategoryByCode() {
+        return PostCategory.valueOf(categoryCode);
+    }
+
+    @Benchmark
+    public PostCategory postCategoryByName() {
+        return PostCategory.valueOf(categoryName);
+    }
+
+    @Benchmark
+    public Role roleByCode() {
+        return Role.valueOf(roleCode);
+    }
+
+    @Benchmark
+    public Role roleByName() {
+        return Role.valueOf(roleName);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.demo.benchmarks;
+
+import com.example.demo.config.FilterToken;
+import com.example.demo.config.ReadYourWritesTracker;
+import com.example.demo.entities.User;
+import com.example.demo.entities.enums.Role;
+import com.example.demo.repositories.UserRepository;
+import com.example.demo.services.TokenService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilterTokenBenchmark {
+    private FilterToken filter;
+    private String authorization;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        User user = new User("username", "user@mail.com", "password", Role.ROLE_USER);
+        set(user, "id", UUID.randomUUID());
+        TokenService tokenService = new TokenService(new SimpleMeterRegistry());
+        UserRepository userRepository = (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("findByUsername")) {
+                        return user;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+
+        filter = new FilterToken();
+        set(filter, "tokenService", tokenService);
+        set(filter, "userRepository", userRepository);
+        set(filter, "readYourWritesTracker", new ReadYourWritesTracker());
+        authorization = "Bearer " + tokenService.generateToken(user);
+    }
+
+    @Benchmark
+    public Object authenticatedRequest() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/posts");
+        request.addHeader("Authorization", authorization);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Benchmark
+    public Object anonymousRequest() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/posts");
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static void set(Object target, String name, Object value) throws ReflectiveOperationException {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.demo.benchmarks;
+
+import com.example.demo.entities.Comment;
+import com.example.demo.entities.Post;
+import com.example.demo.entities.User;
+import com.example.demo.entities.enums.PostCategory;
+import com.example.demo.entities.enums.Role;
+import com.example.demo.exceptions.StandardError;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+    private ObjectMapper objectMapper;
+    private Post post;
+    private Comment comment;
+    private StandardError error;
+
+    @Setup
+    public void setup() {
+        objectMapper = JsonMapper.builder().findAndAddModules().build();
+        User author = new User("username", "user@mail.com", "password", Role.ROLE_USER);
+        post = new Post("A post title", "A post content that is long enough to be valid.", Instant.now(),
+                new HashSet<>(Set.of(PostCategory.technology, PostCategory.travel)), author);
+        post.setId(UUID.randomUUID());
+        comment = new Comment("A comment content", Instant.now(), post, author);
+        comment.setId(UUID.randomUUID());
+        error = new StandardError(Instant.now(), 404, "Resource not found",
+                "Resource not found. Id " + UUID.randomUUID(), "/posts/" + UUID.randomUUID());
+    }
+
+    @Benchmark
+    public String serializePost() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(post);
+    }
+
+    @Benchmark
+    public String serializeComment() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(comment);
+    }
+
+    @Benchmark
+    public String serializeStandardError() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(error);
+    }
+}
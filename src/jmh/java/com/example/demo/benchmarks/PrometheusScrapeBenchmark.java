@@ -0,0 +1,62 @@
+package com.example.demo.benchmarks;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrometheusScrapeBenchmark {
+    private static final String[] STATUSES = {"200", "400", "404"};
+
+    @Param({"30", "100"})
+    public int endpoints;
+
+    private PrometheusMeterRegistry registry;
+    private List<Timer> timers;
+
+    @Setup
+    public void setup() {
+        registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        timers = new ArrayList<>();
+        for (int i = 0; i < endpoints; i++) {
+            for (String status : STATUSES) {
+                timers.add(Timer.builder("http.server.requests")
+                        .tag("uri", "/endpoint/" + i)
+                        .tag("method", "GET")
+                        .tag("status", status)
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .publishPercentileHistogram()
+                        .register(registry));
+            }
+        }
+        for (Timer timer : timers) {
+            for (int i = 0; i < 1000; i++) {
+                timer.record(Duration.ofMillis(ThreadLocalRandom.current().nextInt(1, 500)));
+            }
+        }
+    }
+
+    @Benchmark
+    public String scrape() {
+        return registry.scrape();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void record() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        timers.get(random.nextInt(timers.size())).record(random.nextInt(1, 500_000), TimeUnit.MICROSECONDS);
+    }
+}
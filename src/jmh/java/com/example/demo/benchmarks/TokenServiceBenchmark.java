@@ -0,0 +1,43 @@
+package com.example.demo.benchmarks;
+
+import com.example.demo.entities.User;
+import com.example.demo.entities.enums.Role;
+import com.example.demo.services.TokenService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenServiceBenchmark {
+    private TokenService tokenService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        tokenService = new TokenService(new SimpleMeterRegistry());
+        user = new User("username", "user@mail.com", "password", Role.ROLE_USER);
+        Field id = User.class.getDeclaredField("id");
+        id.setAccessible(true);
+        id.set(user, UUID.randomUUID());
+        token = tokenService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenService.generateToken(user);
+    }
+
+    @Benchmark
+    public String getSubject() {
+        return tokenService.getSubject(token);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.demo.benchmarks;
+
+import com.example.demo.services.utils.UuidV7;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UuidInsertBenchmark {
+    private static final int BATCH_SIZE = 50;
+    private static final String PAYLOAD = "x".repeat(200);
+
+    @Param({"v4", "v7"})
+    public String version;
+
+    @Param({"1000000"})
+    public int preloadedRows;
+
+    private Connection connection;
+    private PreparedStatement insert;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("uuid.url", "jdbc:h2:mem:uuid-" + version + ";DB_CLOSE_DELAY=-1"),
+                System.getProperty("uuid.username", "sa"),
+                System.getProperty("uuid.password", ""));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS uuid_benchmark");
+            statement.execute("CREATE TABLE uuid_benchmark (id UUID PRIMARY KEY, payload VARCHAR(255))");
+        }
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement("INSERT INTO uuid_benchmark (id, payload) VALUES (?, ?)");
+        for (int i = 0; i < preloadedRows / BATCH_SIZE; i++) {
+            insertBatch();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE uuid_benchmark");
+        }
+        connection.commit();
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int[] insertBatch() throws SQLException {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            insert.setObject(1, "v7".equals(version) ? UuidV7.generate() : UUID.randomUUID());
+            insert.setString(2, PAYLOAD);
+            insert.addBatch();
+        }
+        int[] counts = insert.executeBatch();
+        connection.commit();
+        return counts;
+    }
+}
@@ -0,0 +1,31 @@
+#!/bin/sh
+# Runs the same load test with open-session-in-view turned on, then off, and compares how long requests hold a JDBC connection.
+# Usage: src/loadtest/compare-open-in-view.sh [rate] [duration-seconds]
+set -e
+
+RATE=${1:-500}
+DURATION=${2:-120}
+OUTPUT=build/loadtest
+
+./gradlew -q bootJar
+JAR=$(ls build/libs/*.jar | grep -v plain | head -n 1)
+mkdir -p "$OUTPUT"
+
+for OPEN_IN_VIEW in true false; do
+    java -jar "$JAR" \
+        --spring.jpa.open-in-view=$OPEN_IN_VIEW \
+        --app.rate-limit.auth-per-minute=1000000 > "$OUTPUT/open-in-view-$OPEN_IN_VIEW.log" 2>&1 &
+    PID=$!
+    until curl -sf http://localhost:8080/actuator/health > /dev/null; do
+        sleep 1
+    done
+
+    ./gradlew -q loadTest -Dloadtest.rate="$RATE" -Dloadtest.duration-seconds="$DURATION" \
+        -Dloadtest.output="$OUTPUT/open-in-view-$OPEN_IN_VIEW" | tee "$OUTPUT/open-in-view-$OPEN_IN_VIEW.txt"
+
+    kill $PID
+    wait $PID || true
+done
+
+echo "Connection hold time with and without open-session-in-view:"
+grep -H "JDBC connections held" "$OUTPUT"/open-in-view-*.txt
@@ -0,0 +1,36 @@
+#!/bin/sh
+# Runs the same load test against the application with platform threads, then with virtual threads.
+# Usage: src/loadtest/compare-thread-modes.sh [rate] [duration-seconds]
+set -e
+
+RATE=${1:-2000}
+DURATION=${2:-120}
+OUTPUT=build/loadtest
+
+./gradlew -q bootJar
+JAR=$(ls build/libs/*.jar | grep -v plain | head -n 1)
+mkdir -p "$OUTPUT"
+
+for MODE in platform virtual; do
+    VIRTUAL=false
+    if [ "$MODE" = virtual ]; then
+        VIRTUAL=true
+    fi
+
+    java -Djdk.tracePinnedThreads=short -jar "$JAR" \
+        --app.threads.virtual=$VIRTUAL \
+        --app.rate-limit.auth-per-minute=1000000 > "$OUTPUT/$MODE.log" 2>&1 &
+    PID=$!
+    until curl -sf http://localhost:8080/actuator/health > /dev/null; do
+        sleep 1
+    done
+
+    ./gradlew -q loadTest -Dloadtest.rate="$RATE" -Dloadtest.duration-seconds="$DURATION" \
+        -Dloadtest.output="$OUTPUT/$MODE" | tee "$OUTPUT/$MODE.txt"
+
+    kill $PID
+    wait $PID || true
+done
+
+echo "Pinned stack traces reported while running with virtual threads:"
+grep -c "onPinned" "$OUTPUT/virtual.log" || true
@@ -0,0 +1,205 @@
+package com.example.demo.loadtest;
+
+import com.example.demo.entities.Comment;
+import com.example.demo.entities.enums.PostCategory;
+import com.example.demo.entities.enums.Role;
+import com.example.demo.services.utils.UuidV7;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.sql.*;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+public class DataSeeder {
+    public static final String PASSWORD = "password";
+    private static final int BATCH_SIZE = 1000;
+    private static final int MAX_UPVOTERS = 10_000;
+
+    private final int users;
+    private final int posts;
+    private final int comments;
+    private final double skew;
+    private final Duration history;
+    private final UUID[] userIds;
+    private final UUID[] postIds;
+    private final int[] postUpvotes;
+    private final int[] postComments;
+    private final Instant[] postDates;
+
+    public DataSeeder(int users, int posts, int comments, double skew, Duration history) {
+        this.users = users;
+        this.posts = posts;
+        this.comments = comments;
+        this.skew = skew;
+        this.history = history;
+        this.userIds = new UUID[users];
+        this.postIds = new UUID[posts];
+        this.postUpvotes = new int[posts];
+        this.postComments = new int[posts];
+        this.postDates = new Instant[posts];
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = System.getProperty("seed.url", "jdbc:postgresql://localhost:5432/blog");
+        String username = System.getProperty("seed.username", "postgres");
+        String password = System.getProperty("seed.password", "postgres");
+        DataSeeder seeder = new DataSeeder(
+                Integer.getInteger("seed.users", 100_000),
+                Integer.getInteger("seed.posts", 1_000_000),
+                Integer.getInteger("seed.comments", 5_000_000),
+                Double.parseDouble(System.getProperty("seed.skew", "1.1")),
+                Duration.ofDays(Integer.getInteger("seed.days", 365)));
+
+        Properties properties = new Properties();
+        properties.setProperty("user", username);
+        properties.setProperty("password", password);
+        properties.setProperty("reWriteBatchedInserts", "true");
+        try (Connection connection = DriverManager.getConnection(url, properties)) {
+            connection.setAutoCommit(false);
+            seeder.seed(connection);
+        }
+    }
+
+    public void seed(Connection connection) throws SQLException, IOException {
+        long started = System.nanoTime();
+        Random random = new Random(42);
+        Zipf authors = new Zipf(users, skew);
+        Zipf hotPosts = new Zipf(posts, skew);
+
+        seedUsers(connection);
+        log("users", users, started);
+
+        for (int i = 0; i < comments; i++) {
+            postComments[hotPosts.next(random)]++;
+        }
+        long upvotes = (long) comments * 2;
+        for (long i = 0; i < upvotes; i++) {
+            int post = hotPosts.next(random);
+            postUpvotes[post] = Math.min(users, Math.min(MAX_UPVOTERS, postUpvotes[post] + 1));
+        }
+        seedPosts(connection, authors, random);
+        log("posts", posts, started);
+
+        seedComments(connection, random);
+        log("comments", comments, started);
+    }
+
+    private void seedUsers(Connection connection) throws SQLException {
+        String hash = new BCryptPasswordEncoder().encode(PASSWORD);
+        String sql = "INSERT INTO users (id, username, email, password, role, account_non_locked, failed_attempt, "
+                + "is_enabled) VALUES (?, ?, ?, ?, ?, true, 0, true)";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < users; i++) {
+                userIds[i] = UuidV7.generate();
+                statement.setObject(1, userIds[i]);
+                statement.setString(2, "user" + i);
+                statement.setString(3, "user" + i + "@loadtest.local");
+                statement.setString(4, hash);
+                statement.setInt(5, (i == 0 ? Role.ROLE_ADMIN : Role.ROLE_USER).ordinal());
+                batch(connection, statement, i);
+            }
+            flush(connection, statement);
+        }
+    }
+
+    private void seedPosts(Connection connection, Zipf authors, Random random) throws SQLException, IOException {
+        PostCategory[] categories = PostCategory.values();
+        Instant now = Instant.now();
+        int maxContent = columnSize(connection, "posts", "content", 1000);
+        String sql = "INSERT INTO posts (id, title, content, publish_date, upvotes, comment_count, categories, "
+                + "users_upvotes_id, user_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < posts; i++) {
+                postIds[i] = UuidV7.generate();
+                postDates[i] = now.minusMillis((long) (random.nextDouble() * history.toMillis()));
+                HashSet<UUID> upvoters = new HashSet<>();
+                while (upvoters.size() < postUpvotes[i]) {
+                    upvoters.add(userIds[random.nextInt(users)]);
+                }
+                statement.setObject(1, postIds[i]);
+                statement.setString(2, "Post " + i);
+                statement.setString(3, text(random, 30 + random.nextInt(maxContent - 29)));
+                statement.setTimestamp(4, Timestamp.from(postDates[i]));
+                statement.setInt(5, postUpvotes[i]);
+                statement.setInt(6, postComments[i]);
+                statement.setBytes(7, serialize(new HashSet<>(Set.of(categories[random.nextInt(categories.length)]))));
+                statement.setBytes(8, serialize(upvoters));
+                statement.setObject(9, userIds[authors.next(random)]);
+                batch(connection, statement, i);
+            }
+            flush(connection, statement);
+        }
+    }
+
+    private void seedComments(Connection connection, Random random) throws SQLException, IOException {
+        String sql = "INSERT INTO comments (id, content, publish_date, upvotes, users_upvotes_id, post_id, user_id, "
+                + "path, depth, reply_count) VALUES (?, ?, ?, 0, ?, ?, ?, ?, 0, 0)";
+        byte[] noUpvoters = serialize(new HashSet<UUID>());
+        Instant now = Instant.now();
+        int count = 0;
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int post = 0; post < posts; post++) {
+                long window = Math.max(1, now.toEpochMilli() - postDates[post].toEpochMilli());
+                for (int c = 0; c < postComments[post]; c++) {
+                    Instant publishDate = postDates[post].plusMillis(random.nextLong(window));
+                    statement.setObject(1, UuidV7.generate());
+                    statement.setString(2, text(random, 5 + random.nextInt(146)));
+                    statement.setTimestamp(3, Timestamp.from(publishDate));
+                    statement.setBytes(4, noUpvoters);
+                    statement.setObject(5, postIds[post]);
+                    statement.setObject(6, userIds[random.nextInt(users)]);
+                    statement.setString(7, Comment.pathSegment(publishDate));
+                    batch(connection, statement, count++);
+                }
+            }
+            flush(connection, statement);
+        }
+    }
+
+    private void batch(Connection connection, PreparedStatement statement, int index) throws SQLException {
+        statement.addBatch();
+        if ((index + 1) % BATCH_SIZE == 0) {
+            flush(connection, statement);
+        }
+    }
+
+    private void flush(Connection connection, PreparedStatement statement) throws SQLException {
+        statement.executeBatch();
+        connection.commit();
+    }
+
+    private static int columnSize(Connection connection, String table, String column, int max) throws SQLException {
+        try (ResultSet columns = connection.getMetaData().getColumns(null, null, table, column)) {
+            return columns.next() ? Math.min(max, columns.getInt("COLUMN_SIZE")) : max;
+        }
+    }
+
+    private static String text(Random random, int length) {
+        StringBuilder text = new StringBuilder(length);
+        while (text.length() < length) {
+            text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return text.substring(0, length);
+    }
+
+    private static byte[] serialize(Serializable value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void log(String table, int rows, long started) {
+        System.out.printf("Seeded %,d %s (%d s)%n", rows, table, Duration.ofNanos(System.nanoTime() - started).toSeconds());
+    }
+
+    private static final String[] WORDS = ("lorem ipsum dolor sit amet consectetur adipiscing elit sed do eiusmod "
+            + "tempor incididunt ut labore et dolore magna aliqua spring java postgres index cache query "
+            + "thread latency travel food sports health culture style").split(" ");
+}
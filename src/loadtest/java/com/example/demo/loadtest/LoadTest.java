@@ -0,0 +1,301 @@
+package com.example.demo.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+public class LoadTest {
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final String baseUrl;
+    private final Map<Operation, Integer> mix;
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<String, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final List<String> tokens = new ArrayList<>();
+    private final List<String> postIds = new ArrayList<>();
+    private Zipf hotPosts;
+    private int seededUsers;
+    private PoolUsage poolBefore;
+    private PoolUsage poolAfter;
+    private String metricsToken;
+
+    public LoadTest(String baseUrl, Map<Operation, Integer> mix) {
+        this.baseUrl = baseUrl;
+        this.mix = mix;
+        for (Operation operation : mix.keySet()) {
+            recorders.put(operation, new Recorder(HIGHEST_TRACKABLE_MICROS, 3));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTest loadTest = new LoadTest(
+                System.getProperty("loadtest.base-url", "http://localhost:8080"),
+                parseMix(System.getProperty("loadtest.mix", "list=25,read=35,comment=10,upvote=20,login=5,register=5")));
+        loadTest.prepare(
+                Integer.getInteger("loadtest.sessions", 200),
+                Integer.getInteger("loadtest.seeded-users", 100_000),
+                Integer.getInteger("loadtest.post-sample", 5000),
+                Double.parseDouble(System.getProperty("loadtest.skew", "1.1")));
+        loadTest.run(
+                Double.parseDouble(System.getProperty("loadtest.rate", "200")),
+                Duration.ofSeconds(Integer.getInteger("loadtest.warmup-seconds", 10)),
+                Duration.ofSeconds(Integer.getInteger("loadtest.duration-seconds", 60)),
+                Integer.getInteger("loadtest.max-in-flight", 2000));
+        loadTest.report(System.out, Path.of(System.getProperty("loadtest.output", "build/loadtest")));
+    }
+
+    static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split("=");
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                mix.put(Operation.valueOf(parts[0].trim().toUpperCase()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("The traffic mix is empty");
+        }
+        return mix;
+    }
+
+    public void prepare(int sessions, int seededUsers, int postSample, double skew) throws IOException, InterruptedException {
+        this.seededUsers = seededUsers;
+        Random random = new Random(7);
+        for (int i = 0; i < sessions; i++) {
+            HttpResponse<String> response = send(login("user" + random.nextInt(seededUsers)));
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Login failed with " + response.statusCode() + ": " + response.body()
+                        + ". Seed the database and raise app.rate-limit.auth-per-minute.");
+            }
+            tokens.add(response.body());
+        }
+        HttpResponse<String> admin = send(login(System.getProperty("loadtest.metrics-user", "user0")));
+        metricsToken = admin.statusCode() == 200 ? admin.body() : null;
+
+        int pageSize = 50;
+        for (int page = 0; postIds.size() < postSample; page++) {
+            HttpResponse<String> response = send(authorized("/posts?sortBy=publishDate&pageSize=" + pageSize
+                    + "&pageNo=" + page).GET().build());
+            JsonNode content = objectMapper.readTree(response.body()).path("content");
+            content.forEach(post -> postIds.add(post.path("id").asText()));
+            if (content.size() < pageSize) {
+                break;
+            }
+        }
+        if (postIds.isEmpty()) {
+            throw new IllegalStateException("No posts found, run the data seeder first");
+        }
+        Collections.shuffle(postIds, random);
+        hotPosts = new Zipf(postIds.size(), skew);
+        System.out.printf("Prepared %d sessions and %d posts%n", tokens.size(), postIds.size());
+    }
+
+    public void run(double rate, Duration warmup, Duration duration, int maxInFlight) {
+        Operation[] wheel = wheel();
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long start = System.nanoTime();
+        long recordFrom = start + warmup.toNanos();
+        long end = recordFrom + duration.toNanos();
+
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Operation operation = wheel[ThreadLocalRandom.current().nextInt(wheel.length)];
+            boolean recorded = intended >= recordFrom;
+            if (recorded && poolBefore == null) {
+                poolBefore = poolUsage();
+            }
+            if (inFlight.get() >= maxInFlight) {
+                complete(operation, intended, recorded, "dropped");
+                continue;
+            }
+            inFlight.incrementAndGet();
+            client.sendAsync(request(operation), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        inFlight.decrementAndGet();
+                        complete(operation, intended, recorded,
+                                error != null ? error.getClass().getSimpleName() : String.valueOf(response.statusCode()));
+                    });
+        }
+
+        while (inFlight.get() > 0) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        poolAfter = poolUsage();
+    }
+
+    public void report(PrintStream out, Path output) throws IOException {
+        Files.createDirectories(output);
+        out.printf("%-10s %10s %10s %10s %10s %10s %10s%n", "operation", "count", "p50 ms", "p90 ms", "p99 ms",
+                "p99.9 ms", "max ms");
+        for (Map.Entry<Operation, Recorder> entry : recorders.entrySet()) {
+            Histogram histogram = entry.getValue().getIntervalHistogram();
+            out.printf("%-10s %10d %10.1f %10.1f %10.1f %10.1f %10.1f%n", entry.getKey().name().toLowerCase(),
+                    histogram.getTotalCount(), millis(histogram, 50), millis(histogram, 90), millis(histogram, 99),
+                    millis(histogram, 99.9), histogram.getMaxValue() / 1000.0);
+            try (PrintStream file = new PrintStream(Files.newOutputStream(
+                    output.resolve(entry.getKey().name().toLowerCase() + ".hgrm")))) {
+                histogram.outputPercentileDistribution(file, 1000.0);
+            }
+        }
+        out.println();
+        new TreeMap<>(statuses).forEach((key, count) -> out.printf("%-30s %10d%n", key, count.sum()));
+
+        if (poolBefore != null && poolAfter != null) {
+            long checkouts = (long) (poolAfter.count() - poolBefore.count());
+            double meanMillis = checkouts > 0 ? (poolAfter.sum() - poolBefore.sum()) * 1000 / checkouts : 0;
+            out.println();
+            out.printf("JDBC connections held: %d checkouts, mean %.2f ms, max %.1f ms%n",
+                    checkouts, meanMillis, poolAfter.max() * 1000);
+        }
+    }
+
+    private PoolUsage poolUsage() {
+        try {
+            if (metricsToken == null) {
+                return null;
+            }
+            HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/prometheus"))
+                    .header("Authorization", "Bearer " + metricsToken)
+                    .GET().build());
+            if (response.statusCode() != 200) {
+                return null;
+            }
+            double count = 0;
+            double sum = 0;
+            double max = 0;
+            for (String line : response.body().split("\n")) {
+                if (!line.startsWith("hikaricp_connections_usage_seconds")) {
+                    continue;
+                }
+                double value = Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1));
+                if (line.startsWith("hikaricp_connections_usage_seconds_count")) {
+                    count += value;
+                } else if (line.startsWith("hikaricp_connections_usage_seconds_sum")) {
+                    sum += value;
+                } else if (line.startsWith("hikaricp_connections_usage_seconds_max")) {
+                    max = Math.max(max, value);
+                }
+            }
+            return new PoolUsage(count, sum, max);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private void complete(Operation operation, long intended, boolean recorded, String status) {
+        if (!recorded) {
+            return;
+        }
+        if (!status.equals("dropped")) {
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended);
+            recorders.get(operation).recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+        }
+        statuses.computeIfAbsent(operation.name().toLowerCase() + " " + status, k -> new LongAdder()).increment();
+    }
+
+    private Operation[] wheel() {
+        List<Operation> wheel = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                wheel.add(operation);
+            }
+        });
+        return wheel.toArray(new Operation[0]);
+    }
+
+    private HttpRequest request(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String postId = postIds.get(hotPosts.next(random));
+        return switch (operation) {
+            case LIST -> authorized("/posts?sortBy=publishDate&pageSize=10&pageNo=" + random.nextInt(10)).GET().build();
+            case READ -> authorized("/posts/" + postId + "/full").GET().build();
+            case COMMENT -> authorized("/comments")
+                    .header("Content-Type", "application/json")
+                    .POST(json(Map.of("content", "Load test comment " + random.nextInt(), "postId", postId)))
+                    .build();
+            case UPVOTE -> authorized("/posts/" + postId + "/upvote").POST(HttpRequest.BodyPublishers.noBody()).build();
+            case LOGIN -> login("user" + random.nextInt(seededUsers));
+            case REGISTER -> {
+                String username = "lt" + Long.toHexString(random.nextLong());
+                yield HttpRequest.newBuilder(URI.create(baseUrl + "/auth/register"))
+                        .header("Content-Type", "application/json")
+                        .POST(json(Map.of("username", username, "password", DataSeeder.PASSWORD,
+                                "email", username + "@loadtest.local")))
+                        .build();
+            }
+        };
+    }
+
+    private HttpRequest login(String username) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(json(Map.of("username", username, "password", DataSeeder.PASSWORD)))
+                .build();
+    }
+
+    private HttpRequest.Builder authorized(String path) {
+        String token = tokens.get(ThreadLocalRandom.current().nextInt(tokens.size()));
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token);
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private record PoolUsage(double count, double sum, double max) {
+    }
+
+    public enum Operation {
+        LIST, READ, COMMENT, UPVOTE, LOGIN, REGISTER
+    }
+}
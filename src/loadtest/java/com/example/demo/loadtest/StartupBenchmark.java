@@ -0,0 +1,111 @@
+package com.example.demo.loadtest;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+public class StartupBenchmark {
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+    private final Path directory;
+    private final int port;
+    private final long timeoutMillis;
+
+    public StartupBenchmark(Path directory, int port, long timeoutMillis) {
+        this.directory = directory;
+        this.port = port;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path directory = Path.of(System.getProperty("startup.directory", "build/cds"));
+        String java = ProcessHandle.current().info().command().orElse("java");
+        int port = Integer.getInteger("startup.port", 8080);
+        int runs = Integer.getInteger("startup.runs", 5);
+        List<String> extraArgs = Arrays.stream(System.getProperty("startup.args", "").split(" "))
+                .filter(arg -> !arg.isBlank())
+                .toList();
+
+        Map<String, List<String>> modes = new LinkedHashMap<>();
+        modes.put("jvm", List.of(java, "-jar", "application.jar"));
+        boolean cds = Files.exists(directory.resolve("application.jsa"));
+        if (cds) {
+            modes.put("cds", List.of(java, "-XX:SharedArchiveFile=application.jsa", "-jar", "application.jar"));
+        }
+        if (Boolean.getBoolean("startup.aot")) {
+            modes.put("aot", List.of(java, "-Dspring.aot.enabled=true", "-jar", "application.jar"));
+            if (cds) {
+                modes.put("aot+cds", List.of(java, "-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=application.jsa",
+                        "-jar", "application.jar"));
+            }
+        }
+        Path nativeImage = Path.of(System.getProperty("startup.native", "build/native/nativeCompile/demo"));
+        if (Files.isExecutable(nativeImage)) {
+            modes.put("native", List.of(nativeImage.toAbsolutePath().toString()));
+        }
+
+        StartupBenchmark benchmark = new StartupBenchmark(directory, port,
+                Long.getLong("startup.timeout-ms", TimeUnit.MINUTES.toMillis(2)));
+        System.out.printf("%-10s %10s %10s %10s%n", "mode", "min ms", "median ms", "max ms");
+        for (Map.Entry<String, List<String>> mode : modes.entrySet()) {
+            List<String> command = new ArrayList<>(mode.getValue());
+            command.add("--server.port=" + port);
+            command.addAll(extraArgs);
+
+            long[] millis = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                millis[i] = benchmark.timeToFirstRequest(command, mode.getKey() + "-" + i);
+            }
+            Arrays.sort(millis);
+            System.out.printf("%-10s %10d %10d %10d%n", mode.getKey(), millis[0], millis[runs / 2], millis[runs - 1]);
+        }
+    }
+
+    public long timeToFirstRequest(List<String> command, String name) throws IOException, InterruptedException {
+        Path log = directory.resolve("startup-" + name + ".log");
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health"))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(directory.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            while (true) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("The application exited during startup, see " + log);
+                }
+                if (TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) > timeoutMillis) {
+                    throw new IllegalStateException("The application did not answer in time, see " + log);
+                }
+                try {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (ConnectException e) {
+                    // not listening yet
+                }
+                Thread.sleep(10);
+            }
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+}
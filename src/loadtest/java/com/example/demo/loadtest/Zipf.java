@@ -0,0 +1,29 @@
+package com.example.demo.loadtest;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+public class Zipf {
+    private final double[] cdf;
+
+    public Zipf(int size, double exponent) {
+        cdf = new double[size];
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += 1 / Math.pow(i + 1, exponent);
+            cdf[i] = sum;
+        }
+        for (int i = 0; i < size; i++) {
+            cdf[i] /= sum;
+        }
+    }
+
+    public int size() {
+        return cdf.length;
+    }
+
+    public int next(RandomGenerator random) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cdf.length - 1);
+    }
+}
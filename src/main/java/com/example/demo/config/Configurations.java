@@ -1,6 +1,7 @@
 package com.example.demo.config;
 
 import com.example.demo.exceptions.JwtAuthenticationEntryPoint;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -41,6 +42,10 @@ public class Configurations {
                 .permitAll()
                 .requestMatchers(HttpMethod.GET, "/auth/confirm-account")
                 .permitAll()
+                .requestMatchers(HttpMethod.GET, "/actuator/health")
+                .permitAll()
+                .requestMatchers(HttpMethod.GET, "/actuator/prometheus")
+                .hasRole("ADMIN")
                 .requestMatchers(
                         "/v3/api-docs",
                         "/v3/api-docs/**",
@@ -67,8 +72,8 @@ public class Configurations {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry);
     }
 
 }
@@ -23,6 +23,9 @@ public class FilterToken extends OncePerRequestFilter {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ReadYourWritesTracker readYourWritesTracker;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
@@ -31,22 +34,27 @@ public class FilterToken extends OncePerRequestFilter {
 
         var authorizationHeader = request.getHeader("Authorization");
 
-        if (authorizationHeader != null) {
-            try {
-                token = authorizationHeader.replace("Bearer ", "");
-                var subject = this.tokenService.getSubject(token);
+        try {
+            if (authorizationHeader != null) {
+                try {
+                    token = authorizationHeader.replace("Bearer ", "");
+                    var subject = this.tokenService.getSubject(token);
+                    readYourWritesTracker.bind(subject);
 
-                var user = this.userRepository.findByUsername(subject);
+                    var user = this.userRepository.findByUsername(subject);
 
-                var authentication = new UsernamePasswordAuthenticationToken(user,
-                        null, user.getAuthorities());
+                    var authentication = new UsernamePasswordAuthenticationToken(user,
+                            null, user.getAuthorities());
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-            } catch (TokenExpiredException e) {
-                request.setAttribute("tokenExpired", e.getMessage());
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                } catch (TokenExpiredException e) {
+                    request.setAttribute("tokenExpired", e.getMessage());
+                }
             }
-        }
 
-        filterChain.doFilter(request, response);
+            filterChain.doFilter(request, response);
+        } finally {
+            readYourWritesTracker.clear();
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.example.demo.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+@ConditionalOnProperty(name = "app.threads.virtual", havingValue = "false", matchIfMissing = true)
+public class ImportExecutorConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService importExecutor(@Value("${app.import.threads:4}") int threads) {
+        return Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("import-"));
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.demo.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+public class QueryStatistics {
+    private static final Logger logger = LoggerFactory.getLogger(QueryStatistics.class);
+    private static final ThreadLocal<QueryStatistics> CURRENT = new ThreadLocal<>();
+
+    private final HttpServletRequest request;
+    private final long slowQueryNanos;
+    private final Map<String, long[]> repositories = new LinkedHashMap<>();
+    private int statements;
+    private long nanos;
+    private String repositoryMethod;
+    private String sql;
+
+    private QueryStatistics(HttpServletRequest request, long slowQueryMillis) {
+        this.request = request;
+        this.slowQueryNanos = TimeUnit.MILLISECONDS.toNanos(slowQueryMillis);
+    }
+
+    public static QueryStatistics begin(HttpServletRequest request, long slowQueryMillis) {
+        QueryStatistics statistics = new QueryStatistics(request, slowQueryMillis);
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public static QueryStatistics current() {
+        return CURRENT.get();
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    long getNanos() {
+        return nanos;
+    }
+
+    public long getMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    public String getEndpoint() {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    }
+
+    public String getRepositories() {
+        StringJoiner joiner = new StringJoiner(", ");
+        for (Map.Entry<String, long[]> entry : repositories.entrySet()) {
+            joiner.add(entry.getKey() + "=" + entry.getValue()[0] + "/"
+                    + TimeUnit.NANOSECONDS.toMillis(entry.getValue()[1]) + "ms");
+        }
+        return joiner.toString();
+    }
+
+    void inspect(String sql) {
+        this.sql = sql;
+    }
+
+    void record(long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+        if (repositoryMethod != null) {
+            long[] totals = repositories.computeIfAbsent(repositoryMethod, k -> new long[2]);
+            totals[0]++;
+            totals[1] += elapsedNanos;
+        }
+        if (elapsedNanos >= slowQueryNanos) {
+            logger.warn("Slow query ({} ms) on {} from {}: {}", TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                    getEndpoint(), repositoryMethod != null ? repositoryMethod : "-", sql);
+        }
+    }
+
+    String enterRepository(String method) {
+        String previous = repositoryMethod;
+        if (previous == null) {
+            repositoryMethod = method;
+        }
+        return previous;
+    }
+
+    void exitRepository(String previous) {
+        repositoryMethod = previous;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.demo.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryStatisticsFilter extends OncePerRequestFilter {
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+    public static final String QUERY_TIME_HEADER = "X-Query-Time-Ms";
+    private static final Logger logger = LoggerFactory.getLogger(QueryStatisticsFilter.class);
+
+    @Value("${app.sql.slow-query-threshold-ms:200}")
+    private long slowQueryThresholdMillis;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        QueryStatistics statistics = QueryStatistics.begin(request, slowQueryThresholdMillis);
+        StatisticsResponseWrapper wrapper = new StatisticsResponseWrapper(response, statistics);
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            QueryStatistics.end();
+            if (!response.isCommitted()) {
+                wrapper.writeHeaders();
+            }
+            if (logger.isDebugEnabled()) {
+                logger.debug("{} ran {} statements in {} ms [{}]", statistics.getEndpoint(),
+                        statistics.getStatements(), statistics.getMillis(), statistics.getRepositories());
+            }
+        }
+    }
+
+    private static class StatisticsResponseWrapper extends OnCommittedResponseWrapper {
+        private final QueryStatistics statistics;
+
+        private StatisticsResponseWrapper(HttpServletResponse response, QueryStatistics statistics) {
+            super(response);
+            this.statistics = statistics;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeHeaders();
+        }
+
+        private void writeHeaders() {
+            setHeader(QUERY_COUNT_HEADER, String.valueOf(statistics.getStatements()));
+            setHeader(QUERY_TIME_HEADER, String.valueOf(statistics.getMillis()));
+        }
+    }
+}
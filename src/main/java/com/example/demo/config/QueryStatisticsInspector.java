@@ -0,0 +1,15 @@
+package com.example.demo.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+public class QueryStatisticsInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryStatistics statistics = QueryStatistics.current();
+        if (statistics != null) {
+            statistics.inspect(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.demo.config;
+
+import org.hibernate.BaseSessionEventListener;
+
+public class QueryTimingListener extends BaseSessionEventListener {
+    private long startedAt;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        startedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        startedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record();
+    }
+
+    private void record() {
+        QueryStatistics statistics = QueryStatistics.current();
+        if (statistics != null) {
+            statistics.record(System.nanoTime() - startedAt);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.demo.config;
+
+import com.example.demo.controllers.ReactivePostHandler;
+import com.example.demo.repositories.ReactiveCommentRepository;
+import com.example.demo.repositories.ReactivePostRepository;
+import com.example.demo.services.TokenService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+
+@Configuration
+@ConditionalOnProperty(name = "app.reactive.port")
+public class ReactiveServerConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool reactiveConnectionFactory(@Value("${app.reactive.r2dbc-url}") String url,
+                                                    @Value("${spring.datasource.username}") String username,
+                                                    @Value("${spring.datasource.password}") String password,
+                                                    @Value("${app.reactive.pool-size:10}") int poolSize) {
+        ConnectionFactory connectionFactory = ConnectionFactories.get(ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build());
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .maxSize(poolSize)
+                .build());
+    }
+
+    @Bean
+    public ReactivePostHandler reactivePostHandler(ConnectionPool reactiveConnectionFactory, TokenService tokenService,
+                                                   @Value("${app.reactive.fetch-size:250}") int fetchSize) {
+        DatabaseClient databaseClient = DatabaseClient.create(reactiveConnectionFactory);
+        return new ReactivePostHandler(new ReactivePostRepository(databaseClient, fetchSize),
+                new ReactiveCommentRepository(databaseClient), tokenService);
+    }
+
+    @Bean(destroyMethod = "disposeNow")
+    public DisposableServer reactiveServer(ReactivePostHandler reactivePostHandler, ObjectMapper objectMapper,
+                                           @Value("${app.reactive.port}") int port) {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper,
+                            MediaType.APPLICATION_JSON, MediaType.APPLICATION_NDJSON));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        ReactorHttpHandlerAdapter adapter = new ReactorHttpHandlerAdapter(
+                RouterFunctions.toHttpHandler(routes(reactivePostHandler), strategies));
+        return HttpServer.create()
+                .port(port)
+                .handle(adapter)
+                .bindNow();
+    }
+
+    public static RouterFunction<ServerResponse> routes(ReactivePostHandler handler) {
+        return RouterFunctions.route(GET("/posts"), handler::findAll)
+                .andRoute(GET("/posts/{id}"), handler::findById)
+                .andRoute(GET("/posts/{id}/comments"), handler::findComments)
+                .filter(handler::authenticate)
+                .filter(handler::handleErrors);
+    }
+}
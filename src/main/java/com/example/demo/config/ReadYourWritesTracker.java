@@ -0,0 +1,54 @@
+package com.example.demo.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class ReadYourWritesTracker {
+    private final ThreadLocal<String> currentUser = new ThreadLocal<>();
+    private final Map<String, Long> stickyUntil = new ConcurrentHashMap<>();
+
+    @Value("${app.datasource.replica.stickiness-ms:5000}")
+    private long stickinessMillis;
+
+    public void bind(String username) {
+        currentUser.set(username);
+    }
+
+    public void clear() {
+        currentUser.remove();
+    }
+
+    public void recordWrite() {
+        String username = currentUser.get();
+        if (username != null && stickinessMillis > 0) {
+            stickyUntil.put(username, System.currentTimeMillis() + stickinessMillis);
+        }
+    }
+
+    public boolean isSticky() {
+        String username = currentUser.get();
+        if (username == null) {
+            return false;
+        }
+        Long until = stickyUntil.get(username);
+        if (until == null) {
+            return false;
+        }
+        if (until < System.currentTimeMillis()) {
+            stickyUntil.remove(username, until);
+            return false;
+        }
+        return true;
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void purge() {
+        long now = System.currentTimeMillis();
+        stickyUntil.values().removeIf(until -> until < now);
+    }
+}
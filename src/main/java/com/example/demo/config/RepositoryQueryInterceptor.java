@@ -0,0 +1,58 @@
+package com.example.demo.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.concurrent.TimeUnit;
+
+public class RepositoryQueryInterceptor implements MethodInterceptor {
+    private final Class<?> repositoryInterface;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public RepositoryQueryInterceptor(Class<?> repositoryInterface, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.repositoryInterface = repositoryInterface;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        QueryStatistics statistics = QueryStatistics.current();
+        if (statistics == null) {
+            return invocation.proceed();
+        }
+
+        String method = repositoryInterface.getSimpleName() + "." + invocation.getMethod().getName();
+        String previous = statistics.enterRepository(method);
+        int statements = statistics.getStatements();
+        long nanos = statistics.getNanos();
+        try {
+            return invocation.proceed();
+        } finally {
+            statistics.exitRepository(previous);
+            if (previous == null) {
+                record(method, statistics.getStatements() - statements, statistics.getNanos() - nanos);
+            }
+        }
+    }
+
+    private void record(String method, int statements, long nanos) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            return;
+        }
+        DistributionSummary.builder("db.repository.statements")
+                .description("SQL statements run by a repository method")
+                .tag("method", method)
+                .register(registry)
+                .record(statements);
+        Timer.builder("db.repository.time")
+                .description("Time spent running the SQL statements of a repository method")
+                .tag("method", method)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
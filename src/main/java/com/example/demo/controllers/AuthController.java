@@ -10,10 +10,13 @@ import com.example.demo.services.AuthenticationService;
 import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
 import io.github.bucket4j.Refill;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -31,9 +34,11 @@ public class AuthController {
     private final StandardError limitError = new StandardError(Instant.now(), HttpStatus.TOO_MANY_REQUESTS.value(), "Too Many Requests", "You have exhausted your API Request Quota");
     @Autowired
     private AuthenticationService authenticationService;
+    @Autowired
+    private MeterRegistry meterRegistry;
 
-    public AuthController() {
-        Bandwidth limit = Bandwidth.classic(10, Refill.greedy(10, Duration.ofMinutes(1)));
+    public AuthController(@Value("${app.rate-limit.auth-per-minute:10}") int authPerMinute) {
+        Bandwidth limit = Bandwidth.classic(authPerMinute, Refill.greedy(authPerMinute, Duration.ofMinutes(1)));
         this.bucket = Bucket.builder()
                 .addLimit(limit)
                 .build();
@@ -44,7 +49,7 @@ public class AuthController {
         if (bucket.tryConsume(1)) {
             return ResponseEntity.ok().body(authenticationService.register(register));
         }
-        throw new RateLimitException();
+        throw rateLimited("register");
     }
 
     @PostMapping("/login")
@@ -52,7 +57,7 @@ public class AuthController {
         if (bucket.tryConsume(1)) {
             return ResponseEntity.ok().body(authenticationService.login(login));
         }
-        throw new RateLimitException();
+        throw rateLimited("login");
     }
 
     @PostMapping("/change-password")
@@ -62,7 +67,7 @@ public class AuthController {
             String message = "Password updated successfully!";
             return ResponseEntity.ok().body(message);
         }
-        throw new RateLimitException();
+        throw rateLimited("change-password");
     }
 
     @PostMapping("/forgot-password")
@@ -105,4 +110,12 @@ public class AuthController {
         return ResponseEntity.ok().body(result);
     }
 
+    private RateLimitException rateLimited(String endpoint) {
+        Counter.builder("auth.rate.limit.rejections")
+                .description("Authentication requests rejected by the rate limit")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .increment();
+        return new RateLimitException();
+    }
 }
@@ -0,0 +1,35 @@
+package com.example.demo.controllers;
+
+import com.example.demo.dtos.CacheRegionStatisticsDTO;
+import com.example.demo.services.CacheStatisticsService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.security.RolesAllowed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(value = "/cache")
+@Tag(name = "Cache")
+@RolesAllowed("ADMIN")
+public class CacheController {
+
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+
+    @GetMapping(value = "/statistics")
+    public ResponseEntity<List<CacheRegionStatisticsDTO>> findStatistics() {
+        return ResponseEntity.ok().body(cacheStatisticsService.findAll());
+    }
+
+    @DeleteMapping(value = "/statistics")
+    public ResponseEntity<Void> clearStatistics() {
+        cacheStatisticsService.clear();
+        return ResponseEntity.noContent().build();
+    }
+}
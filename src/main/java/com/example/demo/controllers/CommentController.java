@@ -1,8 +1,11 @@
 package com.example.demo.controllers;
 
 import com.example.demo.dtos.CommentDTO;
+import com.example.demo.dtos.CommentPatchDTO;
+import com.example.demo.dtos.ThreadCommentDTO;
 import com.example.demo.entities.Comment;
 import com.example.demo.services.CommentService;
+import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -34,9 +37,19 @@ public class CommentController {
         return ResponseEntity.created(uri).body(result);
     }
 
+    @Deprecated
+    @Operation(
+            description = "Returns one page of all comments, newest first, capped at 50 per page. " +
+                    "Use GET /posts/{id}/comments to list the comments of a post",
+            summary = "Get all comments",
+            deprecated = true
+    )
     @GetMapping
-    public ResponseEntity<List<Comment>> findAll() {
-        return ResponseEntity.ok().body(commentService.findAll());
+    public ResponseEntity<List<Comment>> findAll(
+            @RequestParam(defaultValue = "0") Integer pageNo,
+            @RequestParam(defaultValue = "50") Integer pageSize
+    ) {
+        return ResponseEntity.ok().body(commentService.findAll(pageNo, pageSize));
     }
 
     @GetMapping(value = "/{id}")
@@ -44,9 +57,16 @@ public class CommentController {
         return ResponseEntity.ok().body(commentService.findById(id));
     }
 
+    @GetMapping(value = "/{id}/thread")
+    public ResponseEntity<ThreadCommentDTO> findThread(@PathVariable UUID id,
+                                                       @RequestParam(required = false) Integer depth) {
+        return ResponseEntity.ok().body(commentService.findThread(id, depth));
+    }
+
     @PatchMapping(value = "/{id}")
-    public ResponseEntity<Comment> update(@PathVariable UUID id, @RequestBody Comment obj) {
-        return ResponseEntity.ok().body(commentService.update(id, obj));
+    public ResponseEntity<Void> update(@PathVariable UUID id, @Valid @RequestBody CommentPatchDTO patch) {
+        commentService.update(id, patch);
+        return ResponseEntity.noContent().build();
     }
 
     @DeleteMapping(value = "/{id}")
@@ -0,0 +1,64 @@
+package com.example.demo.controllers;
+
+import com.example.demo.services.ExportService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.security.RolesAllowed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping(value = "/export")
+@Tag(name = "Export")
+@RolesAllowed("ADMIN")
+public class ExportController {
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
+    @Autowired
+    private ExportService exportService;
+
+    @GetMapping(value = "/posts")
+    public ResponseEntity<StreamingResponseBody> exportPosts(@RequestParam(defaultValue = "false") boolean gzip) {
+        return stream("posts", gzip, exportService::exportPosts);
+    }
+
+    @GetMapping(value = "/comments")
+    public ResponseEntity<StreamingResponseBody> exportComments(@RequestParam(defaultValue = "false") boolean gzip) {
+        return stream("comments", gzip, exportService::exportComments);
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(String name, boolean gzip, Exporter exporter) {
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 8192);
+                exporter.export(compressed);
+                compressed.finish();
+            } else {
+                exporter.export(out);
+            }
+        };
+
+        String filename = name + ".ndjson" + (gzip ? ".gz" : "");
+        return ResponseEntity.ok()
+                .contentType(gzip ? GZIP : NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    @FunctionalInterface
+    private interface Exporter {
+        long export(OutputStream out) throws IOException;
+    }
+}
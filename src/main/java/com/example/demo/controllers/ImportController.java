@@ -0,0 +1,44 @@
+package com.example.demo.controllers;
+
+import com.example.demo.dtos.ImportReportDTO;
+import com.example.demo.services.ImportService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+@RestController
+@RequestMapping(value = "/import")
+@Tag(name = "Import")
+@RolesAllowed("ADMIN")
+public class ImportController {
+    @Autowired
+    private ImportService importService;
+
+    @PostMapping(value = "/posts", consumes = {"application/x-ndjson", "application/gzip"})
+    public ResponseEntity<ImportReportDTO> importPosts(HttpServletRequest request,
+                                                       @RequestParam(defaultValue = "false") boolean gzip) throws IOException {
+        boolean compressed = gzip
+                || "gzip".equalsIgnoreCase(request.getHeader(HttpHeaders.CONTENT_ENCODING))
+                || "application/gzip".equalsIgnoreCase(request.getContentType());
+        InputStream in = compressed ? new GZIPInputStream(request.getInputStream(), 8192) : request.getInputStream();
+        ImportReportDTO result = importService.importPosts(in);
+        return ResponseEntity.ok().body(result);
+    }
+
+    @PostMapping(value = "/posts/file")
+    public ResponseEntity<ImportReportDTO> importPostsFromFile(@RequestParam String name) throws IOException {
+        ImportReportDTO result = importService.importPosts(name);
+        return ResponseEntity.ok().body(result);
+    }
+}
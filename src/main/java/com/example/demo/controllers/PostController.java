@@ -1,11 +1,20 @@
 package com.example.demo.controllers;
 
+import com.example.demo.dtos.BatchResultDTO;
+import com.example.demo.dtos.CommentSummaryDTO;
+import com.example.demo.dtos.CursorPageDTO;
 import com.example.demo.dtos.PostDTO;
+import com.example.demo.dtos.PostPatchDTO;
+import com.example.demo.dtos.PostViewDTO;
+import com.example.demo.dtos.TrendingPostDTO;
 import com.example.demo.entities.Post;
+import com.example.demo.services.CommentService;
 import com.example.demo.services.PostService;
+import com.example.demo.services.TrendingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.security.RolesAllowed;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -15,6 +24,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -25,6 +35,12 @@ public class PostController {
     @Autowired
     private PostService postService;
 
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private CommentService commentService;
+
     @PostMapping
     public ResponseEntity<Post> createPost(@Valid @RequestBody PostDTO post) {
         Post result = postService.create(post);
@@ -36,6 +52,11 @@ public class PostController {
         return ResponseEntity.created(uri).body(result);
     }
 
+    @PostMapping(value = "/batch")
+    public ResponseEntity<List<BatchResultDTO>> createPosts(@RequestBody List<PostDTO> posts) {
+        return ResponseEntity.ok().body(postService.createBatch(posts));
+    }
+
     @GetMapping
     public ResponseEntity<Page<Post>> findAll(
             @RequestParam(defaultValue = "0") Integer pageNo,
@@ -46,6 +67,11 @@ public class PostController {
         return ResponseEntity.ok().body(posts);
     }
 
+    @GetMapping(value = "/trending")
+    public ResponseEntity<List<TrendingPostDTO>> findTrending(@RequestParam(defaultValue = "10") Integer limit) {
+        return ResponseEntity.ok().body(trendingService.findTrending(limit));
+    }
+
     @Operation(
             description = "This endpoint returns a single post document",
             summary = "Get a single post",
@@ -64,9 +90,26 @@ public class PostController {
         return ResponseEntity.ok().body(postService.findById(id));
     }
 
+    @GetMapping(value = "/{id}/full")
+    public ResponseEntity<PostViewDTO> findView(@PathVariable UUID id,
+                                                @RequestParam(defaultValue = "10") Integer commentsSize) {
+        return ResponseEntity.ok().body(postService.findView(id, commentsSize));
+    }
+
+    @GetMapping(value = "/{id}/comments")
+    public ResponseEntity<CursorPageDTO<CommentSummaryDTO>> findComments(
+            @PathVariable UUID id,
+            @RequestParam(defaultValue = "new") String order,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") Integer pageSize
+    ) {
+        return ResponseEntity.ok().body(commentService.findByPost(id, order, cursor, pageSize));
+    }
+
     @PatchMapping(value = "/{id}")
-    public ResponseEntity<Post> update(@PathVariable UUID id, @RequestBody Post obj) {
-        return ResponseEntity.ok().body(postService.update(id, obj));
+    public ResponseEntity<Void> update(@PathVariable UUID id, @Valid @RequestBody PostPatchDTO patch) {
+        postService.update(id, patch);
+        return ResponseEntity.noContent().build();
     }
 
     @DeleteMapping(value = "/{id}")
@@ -75,6 +118,12 @@ public class PostController {
         return ResponseEntity.noContent().build();
     }
 
+    @RolesAllowed("ADMIN")
+    @PostMapping(value = "/bulk-delete")
+    public ResponseEntity<Integer> deletePosts(@RequestBody List<UUID> ids) {
+        return ResponseEntity.ok().body(postService.deleteBatch(ids));
+    }
+
     @PostMapping(value = "/{id}/upvote")
     public ResponseEntity<String> increaseUpvote(@PathVariable UUID id) {
         boolean result = postService.increaseUpvote(id);
@@ -0,0 +1,173 @@
+package com.example.demo.controllers;
+
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.exceptions.TokenExpiredException;
+import com.example.demo.dtos.CommentSummaryDTO;
+import com.example.demo.dtos.CursorPageDTO;
+import com.example.demo.dtos.PostSummaryDTO;
+import com.example.demo.exceptions.StandardError;
+import com.example.demo.repositories.ReactiveCommentRepository;
+import com.example.demo.repositories.ReactivePostRepository;
+import com.example.demo.services.CommentService;
+import com.example.demo.services.PostService;
+import com.example.demo.services.TokenService;
+import com.example.demo.services.exceptions.ResourceNotFoundException;
+import com.example.demo.services.utils.KeysetCursor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+public class ReactivePostHandler {
+    public static final int MAX_STREAM_SIZE = 10000;
+
+    private final ReactivePostRepository postRepository;
+    private final ReactiveCommentRepository commentRepository;
+    private final TokenService tokenService;
+
+    public ReactivePostHandler(ReactivePostRepository postRepository, ReactiveCommentRepository commentRepository,
+                               TokenService tokenService) {
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.tokenService = tokenService;
+    }
+
+    public Mono<ServerResponse> findAll(ServerRequest request) {
+        String cursor = request.queryParam("cursor").orElse(null);
+        if (request.headers().accept().contains(MediaType.APPLICATION_NDJSON)) {
+            int limit = Math.max(1, Math.min(intParam(request, "limit", 1000), MAX_STREAM_SIZE));
+            return ServerResponse.ok()
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .body(findSummaries(cursor, limit), PostSummaryDTO.class);
+        }
+
+        int size = PostService.pageSize(intParam(request, "pageSize", 10));
+        return findSummaries(cursor, size + 1)
+                .collectList()
+                .map(posts -> page(posts, size, last -> KeysetCursor.encode(last.getPublishDate(), last.getId())))
+                .flatMap(page -> ServerResponse.ok().bodyValue(page));
+    }
+
+    public Mono<ServerResponse> findById(ServerRequest request) {
+        UUID id = uuid(request.pathVariable("id"));
+        int size = CommentService.pageSize(intParam(request, "commentsSize", 10));
+        return postRepository.findView(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException(id)))
+                .flatMap(post -> commentRepository.findWithAuthorByPost(id, size + 1)
+                        .collectList()
+                        .map(comments -> {
+                            post.setComments(page(comments, size,
+                                    last -> KeysetCursor.encode(last.getPublishDate(), last.getId())));
+                            return post;
+                        }))
+                .flatMap(post -> ServerResponse.ok().bodyValue(post));
+    }
+
+    public Mono<ServerResponse> findComments(ServerRequest request) {
+        UUID id = uuid(request.pathVariable("id"));
+        boolean top = CommentService.isTopOrder(request.queryParam("order").orElse("new"));
+        int size = CommentService.pageSize(intParam(request, "pageSize", 10));
+        String cursor = request.queryParam("cursor").orElse(null);
+
+        Mono<List<CommentSummaryDTO>> comments;
+        if (cursor == null || cursor.isBlank()) {
+            comments = (top
+                    ? commentRepository.findTopSummariesByPost(id, size + 1)
+                    : commentRepository.findSummariesByPost(id, size + 1))
+                    .collectList()
+                    .flatMap(list -> list.isEmpty()
+                            ? postRepository.existsById(id).flatMap(exists -> exists
+                                    ? Mono.just(list)
+                                    : Mono.error(new ResourceNotFoundException(id)))
+                            : Mono.just(list));
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            comments = (top
+                    ? commentRepository.findTopSummariesByPostBefore(id, after.intKey(), after.id(), size + 1)
+                    : commentRepository.findSummariesByPostBefore(id, after.instantKey(), after.id(), size + 1))
+                    .collectList();
+        }
+
+        return comments
+                .map(list -> page(list, size,
+                        last -> KeysetCursor.encode(top ? last.getUpvotes() : last.getPublishDate(), last.getId())))
+                .flatMap(page -> ServerResponse.ok().bodyValue(page));
+    }
+
+    public Mono<ServerResponse> authenticate(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        String header = request.headers().firstHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith("Bearer ")) {
+            return error(HttpStatus.UNAUTHORIZED, "Authentication error",
+                    "Full authentication is required to access this resource", request);
+        }
+        try {
+            tokenService.getSubject(header.substring("Bearer ".length()));
+        } catch (TokenExpiredException e) {
+            return error(HttpStatus.UNAUTHORIZED, "Token expired", e.getMessage(), request);
+        } catch (JWTVerificationException e) {
+            return error(HttpStatus.UNAUTHORIZED, "Authentication error", e.getMessage(), request);
+        }
+        return next.handle(request);
+    }
+
+    public Mono<ServerResponse> handleErrors(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        return Mono.defer(() -> next.handle(request))
+                .onErrorResume(ResourceNotFoundException.class,
+                        e -> error(HttpStatus.NOT_FOUND, "Resource not found", e.getMessage(), request))
+                .onErrorResume(ResponseStatusException.class,
+                        e -> error(e.getStatusCode(), "Something went wrong", e.getReason(), request));
+    }
+
+    private Flux<PostSummaryDTO> findSummaries(String cursor, int limit) {
+        if (cursor == null || cursor.isBlank()) {
+            return postRepository.findSummaries(limit);
+        }
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        return postRepository.findSummariesBefore(after.instantKey(), after.id(), limit);
+    }
+
+    private static <T> CursorPageDTO<T> page(List<T> items, int size, Function<T, String> cursor) {
+        if (items.size() <= size) {
+            return new CursorPageDTO<>(items, null);
+        }
+        List<T> content = items.subList(0, size);
+        return new CursorPageDTO<>(content, cursor.apply(content.get(size - 1)));
+    }
+
+    private static int intParam(ServerRequest request, String name, int defaultValue) {
+        String value = request.queryParam(name).orElse(null);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, name + " must be a number");
+        }
+    }
+
+    private static UUID uuid(String value) {
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid id: " + value);
+        }
+    }
+
+    private static Mono<ServerResponse> error(HttpStatusCode status, String error, String message,
+                                              ServerRequest request) {
+        StandardError err = new StandardError(Instant.now(), status.value(), error, message, request.path());
+        return ServerResponse.status(status).contentType(MediaType.APPLICATION_JSON).bodyValue(err);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.demo.controllers;
+
+import com.example.demo.dtos.SearchResultDTO;
+import com.example.demo.services.SearchService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.security.RolesAllowed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping(value = "/search")
+@Tag(name = "Search")
+public class SearchController {
+
+    @Autowired
+    private SearchService searchService;
+
+    @GetMapping
+    public ResponseEntity<Page<SearchResultDTO>> search(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "0") Integer pageNo,
+            @RequestParam(defaultValue = "10") Integer pageSize
+    ) {
+        return ResponseEntity.ok().body(searchService.search(q, pageNo, pageSize));
+    }
+
+    @RolesAllowed("ADMIN")
+    @PostMapping(value = "/reindex")
+    public ResponseEntity<Void> reindex() {
+        searchService.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.demo.controllers;
+
+import com.example.demo.dtos.CursorPageDTO;
+import com.example.demo.dtos.PostSummaryDTO;
+import com.example.demo.services.PostService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping(value = "/users")
+@Tag(name = "Users")
+public class UserController {
+
+    @Autowired
+    private PostService postService;
+
+    @GetMapping(value = "/{id}/posts")
+    public ResponseEntity<CursorPageDTO<PostSummaryDTO>> findPosts(
+            @PathVariable UUID id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") Integer pageSize
+    ) {
+        return ResponseEntity.ok().body(postService.findByAuthor(id, cursor, pageSize));
+    }
+}
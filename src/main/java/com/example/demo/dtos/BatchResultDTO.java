@@ -0,0 +1,20 @@
+package com.example.demo.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResultDTO {
+    private int index;
+    private UUID id;
+    private String status;
+    private List<String> errors;
+}
@@ -0,0 +1,19 @@
+package com.example.demo.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheRegionStatisticsDTO {
+    private String region;
+    private long hits;
+    private long misses;
+    private long puts;
+    private long elementsInMemory;
+    private double hitRatio;
+}
@@ -20,4 +20,10 @@ public class CommentDTO {
     private String content;
     @NotNull
     private UUID postId;
+    private UUID parentId;
+
+    public CommentDTO(String content, UUID postId) {
+        this.content = content;
+        this.postId = postId;
+    }
 }
@@ -0,0 +1,24 @@
+package com.example.demo.dtos;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentPatchDTO {
+    @Size(min = 5, max = 150)
+    @Pattern(regexp = "(?s).*\\S.*", message = "must not be blank")
+    private String content;
+
+    @JsonIgnore
+    public boolean isEmpty() {
+        return content == null;
+    }
+}
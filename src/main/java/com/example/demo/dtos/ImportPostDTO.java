@@ -0,0 +1,25 @@
+package com.example.demo.dtos;
+
+import com.example.demo.entities.enums.PostCategory;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportPostDTO {
+    private String title;
+    private String content;
+    private Set<PostCategory> categories;
+    private Instant publishDate;
+    @Builder.Default
+    private List<ImportCommentDTO> comments = new ArrayList<>();
+}
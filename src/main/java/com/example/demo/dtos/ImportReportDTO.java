@@ -0,0 +1,22 @@
+package com.example.demo.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportReportDTO {
+    private long lines;
+    private long importedPosts;
+    private long importedComments;
+    private long rejected;
+    private List<String> rejections;
+    private long elapsedMillis;
+    private double postsPerSecond;
+}
@@ -0,0 +1,27 @@
+package com.example.demo.dtos;
+
+import com.example.demo.entities.enums.PostCategory;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostExportDTO {
+    private UUID id;
+    private String title;
+    private String content;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'", timezone = "GMT")
+    private Instant publishDate;
+    private int upvotes;
+    private Set<PostCategory> categories;
+    private UUID authorId;
+}
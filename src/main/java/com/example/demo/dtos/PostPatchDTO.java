@@ -0,0 +1,27 @@
+package com.example.demo.dtos;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostPatchDTO {
+    @Size(min = 5, max = 100)
+    @Pattern(regexp = "(?s).*\\S.*", message = "must not be blank")
+    private String title;
+    @Size(min = 30, max = 1000)
+    @Pattern(regexp = "(?s).*\\S.*", message = "must not be blank")
+    private String content;
+
+    @JsonIgnore
+    public boolean isEmpty() {
+        return title == null && content == null;
+    }
+}
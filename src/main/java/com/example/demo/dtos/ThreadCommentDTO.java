@@ -0,0 +1,39 @@
+package com.example.demo.dtos;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+public class ThreadCommentDTO {
+    private UUID id;
+    private String content;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'", timezone = "GMT")
+    private Instant publishDate;
+    private int upvotes;
+    private UUID authorId;
+    private int depth;
+    private int replyCount;
+    @JsonIgnore
+    private String path;
+    private List<ThreadCommentDTO> replies = new ArrayList<>();
+
+    public ThreadCommentDTO(UUID id, String content, Instant publishDate, int upvotes, UUID authorId,
+                            int depth, int replyCount, String path) {
+        this.id = id;
+        this.content = content;
+        this.publishDate = publishDate;
+        this.upvotes = upvotes;
+        this.authorId = authorId;
+        this.depth = depth;
+        this.replyCount = replyCount;
+        this.path = path;
+    }
+}
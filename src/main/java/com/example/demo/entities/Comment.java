@@ -7,18 +7,36 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.Instant;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Data
 @NoArgsConstructor
 @Entity(name = "comments")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "comments")
+@DynamicUpdate
+@Table(name = "comments", indexes = {
+        @Index(name = "idx_comments_post_id_publish_date", columnList = "post_id, depth, publishDate DESC, id DESC"),
+        @Index(name = "idx_comments_post_id_upvotes", columnList = "post_id, depth, upvotes DESC, id DESC"),
+        @Index(name = "idx_comments_post_id_path", columnList = "post_id, path"),
+        @Index(name = "idx_comments_user_id", columnList = "user_id"),
+        @Index(name = "idx_comments_parent_id", columnList = "parent_id")
+})
 public class Comment {
+    public static final int PATH_SEGMENT_LENGTH = 16;
+    public static final int MAX_DEPTH = 32;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7Id
     private UUID id;
     private String content;
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'", timezone = "GMT")
@@ -29,7 +47,8 @@ public class Comment {
     private Set<UUID> usersUpvotesId = new HashSet<>();
 
     @JsonIgnore
-    @ManyToOne
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "post_id")
     private Post post;
 
@@ -38,6 +57,22 @@ public class Comment {
     @JoinColumn(name = "user_id")
     private User author;
 
+    @JsonIgnore
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "parent_id")
+    private Comment parent;
+
+    @JsonIgnore
+    @Column(length = PATH_SEGMENT_LENGTH * (MAX_DEPTH + 1))
+    private String path;
+
+    @ColumnDefault("0")
+    private int depth;
+
+    @ColumnDefault("0")
+    private int replyCount;
+
     public Comment(String content, Instant publishDate, Post post, User author) {
         this.content = content;
         this.publishDate = publishDate;
@@ -45,6 +80,29 @@ public class Comment {
         this.author = author;
     }
 
+    public Comment(String content, Instant publishDate, Post post, User author, Comment parent) {
+        this(content, publishDate, post, author);
+        this.parent = parent;
+        this.path = parent.getPath() + pathSegment(publishDate);
+        this.depth = parent.getDepth() + 1;
+    }
+
+    public UUID getParentId() {
+        return parent != null ? parent.getId() : null;
+    }
+
+    public static String pathSegment(Instant publishDate) {
+        long millis = publishDate != null ? publishDate.toEpochMilli() : System.currentTimeMillis();
+        return String.format("%011x%05x", millis, ThreadLocalRandom.current().nextInt(0x100000));
+    }
+
+    @PrePersist
+    private void assignPath() {
+        if (path == null) {
+            path = pathSegment(publishDate);
+        }
+    }
+
     public void increaseUpvote(UUID id) {
         this.usersUpvotesId.add(id);
         this.upvotes++;
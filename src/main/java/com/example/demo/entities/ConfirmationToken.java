@@ -11,10 +11,13 @@ import java.util.UUID;
 @Data
 @NoArgsConstructor
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_confirmation_token_confirmation_token", columnList = "confirmation_token", unique = true)
+})
 public class ConfirmationToken {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7Id
     private UUID id;
 
     @Column(name = "confirmation_token")
@@ -6,6 +6,10 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.Instant;
 import java.util.HashSet;
@@ -15,16 +19,25 @@ import java.util.UUID;
 @Data
 @NoArgsConstructor
 @Entity(name = "posts")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "posts")
+@DynamicUpdate
+@Table(name = "posts", indexes = {
+        @Index(name = "idx_posts_user_id_publish_date", columnList = "user_id, publishDate DESC, id DESC"),
+        @Index(name = "idx_posts_publish_date", columnList = "publishDate DESC, id DESC")
+})
 public class Post {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7Id
     private UUID id;
     private String title;
+    @Column(length = 1000)
     private String content;
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss'Z'", timezone = "GMT")
     private Instant publishDate;
     private int upvotes;
+    @ColumnDefault("0")
+    private int commentCount;
     private Set<PostCategory> categories;
 
     @JsonIgnore
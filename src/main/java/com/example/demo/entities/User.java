@@ -3,6 +3,12 @@ package com.example.demo.entities;
 import com.example.demo.entities.enums.Role;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import org.hibernate.type.SqlTypes;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -10,18 +16,24 @@ import org.springframework.security.core.userdetails.UserDetails;
 import java.util.*;
 
 @Entity(name = "users")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-natural-id")
 @Table(name = "users", uniqueConstraints = {
         @UniqueConstraint(columnNames = "username"),
         @UniqueConstraint(columnNames = "email")
+}, indexes = {
+        @Index(name = "idx_users_reset_password_token", columnList = "reset_password_token")
 })
 public class User implements UserDetails {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7Id
     private UUID id;
     private String email;
+    @NaturalId
     private String username;
     private String password;
+    @JdbcTypeCode(SqlTypes.SMALLINT)
     private Role role;
     @Column(name = "account_non_locked")
     private boolean accountNonLocked;
@@ -0,0 +1,19 @@
+package com.example.demo.entities;
+
+import com.example.demo.services.utils.UuidV7;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+
+public class UuidV7Generator implements IdentifierGenerator {
+
+    public UuidV7Generator(UuidV7Id config, Member idMember, CustomIdGeneratorCreationContext creationContext) {
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return UuidV7.generate();
+    }
+}
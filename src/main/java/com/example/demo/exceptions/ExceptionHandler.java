@@ -7,14 +7,20 @@ import com.example.demo.controllers.exceptions.RateLimitException;
 import com.example.demo.services.exceptions.*;
 import jakarta.mail.MessagingException;
 import jakarta.persistence.EntityNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.HandlerMapping;
 
 import java.time.Instant;
 import java.util.ArrayList;
@@ -23,12 +29,15 @@ import java.util.List;
 @ControllerAdvice
 public class ExceptionHandler {
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @org.springframework.web.bind.annotation.ExceptionHandler(Exception.class)
     public ResponseEntity<StandardError> handleAllExceptions(Exception e, HttpServletRequest request) {
         String error = "Server error";
         HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
         StandardError err = new StandardError(Instant.now(), status.value(), error, e.getMessage(), request.getRequestURI());
-        return ResponseEntity.status(status).body(err);
+        return respond(status, err, request);
     }
 
     @org.springframework.web.bind.annotation.ExceptionHandler(ResourceNotFoundException.class)
@@ -36,7 +45,7 @@ public class ExceptionHandler {
         String error = "Resource not found";
         HttpStatus status = HttpStatus.NOT_FOUND;
         StandardError err = new StandardError(Instant.now(), status.value(), error, e.getMessage(), request.getRequestURI());
-        return ResponseEntity.status(status).body(err);
+        return respond(status, err, request);
     }
 
     @org.springframework.web.bind.annotation.ExceptionHandler(DatabaseException.class)
@@ -44,7 +53,7 @@ public class ExceptionHandler {
         String error = "Database error";
         HttpStatus status = HttpStatus.BAD_REQUEST;
         StandardError err = new StandardError(Instant.now(), status.value(), error, e.getMessage(), request.getRequestURI());
-        return ResponseEntity.status(status).body(err);
+        return respond(status, err, request);
     }
 
     @org.springframework.web.bind.annotation.ExceptionHandler(MethodArgumentNotValidException.class)
@@ -57,7 +66,7 @@ public class ExceptionHandler {
         }
 
         StandardError err = new StandardError(Instant.now(), status.value(), error, errors.toString(), request.getRequestURI());
-        return ResponseEntity.status(status).body(err);
+        return respond(status, err, request);
     }
 
     @org.springframework.web.bind.annotation.ExceptionHandler(AuthenticationException.class)
@@ -65,7 +74,7 @@ public class ExceptionHandler {
         String error = "Authentication error";
         HttpStatus status = HttpStatus.UNAUTHORIZED;
         StandardError err = new StandardError(Instant.now(), status.value(), error, e.getMessage(), request.getRequestURI());
-        return ResponseEntity.status(status).body(err);
+        return respond(status, err, request);
     }
 
     @org.springframework.web.bind.annotation.ExceptionHandler(TokenExpiredException.class)
@@ -73,7 +82,7 @@ public class ExceptionHandler {
         String error = "Token expired";
         HttpStatus status = HttpStatus.UNAUTHORIZED;
         StandardError err = new StandardError(Instant.now(), status.value(), error, e.getMessage(), request.getRequestURI());
-        return ResponseEntity.status(status).body(err);
+        return respond(status, err, request);
     }
 
     @org.springframework.web.bind.annotation.ExceptionHandler(DuplicateKeyException.class)
@@ -81,7 +90,7 @@ public class ExceptionHandler {
         String error = "Duplicate key violates unique constraint";
         HttpStatus status = HttpStatus.BAD_REQUEST;
         StandardError err = new StandardError(Instant.now(), status.value(), error, e.getMessage(), request.getRequestURI());
-        return ResponseEntity.status(status).body(err);
+        return respond(status, err, request);
     }
 
     @org.springframework.web.bind.annotation.ExceptionHandler(UnauthorizedAccessException.class)
@@ -89,7 +98,7 @@ public class ExceptionHandler {
         String error = "Access denied";
         HttpStatus status = HttpStatus.FORBIDDEN;
         StandardError err = new StandardError(Instant.now(), status.value(), error, e.getMessage(), request.getRequestURI());
-        return ResponseEntity.status(status).body(err);
+        return respond(status, err, request);
     }
 
     @org.springframework.web.bind.annotation.ExceptionHandler(InvalidOldPasswordException.class)
@@ -97,7 +106,7 @@ public class ExceptionHandler {
         String error = "Invalid password";
         HttpStatus status = HttpStatus.BAD_REQUEST;
         StandardError err = new StandardError(Instant.now(), status.value(), error, e.getMessage(), request.getRequestURI());
-        return ResponseEntity.status(status).body(err);
+        return respond(status, err, request);
     }
 
     @org.springframework.web.bind.annotation.ExceptionHandler(RateLimitException.class)
@@ -105,7 +114,7 @@ public class ExceptionHandler {
         String error = "Too many requests";
         HttpStatus status = HttpStatus.TOO_MANY_REQUESTS;
         StandardError err = new StandardError(Instant.now(), status.value(), error, e.getMessage(), request.getRequestURI());
-        return ResponseEntity.status(status).body(err);
+        return respond(status, err, request);
     }
 
     @org.springframework.web.bind.annotation.ExceptionHandler(MessagingException.class)
@@ -113,7 +122,7 @@ public class ExceptionHandler {
         String error = "Error while sending email";
         HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
         StandardError err = new StandardError(Instant.now(), status.value(), error, e.getMessage(), request.getRequestURI());
-        return ResponseEntity.status(status).body(err);
+        return respond(status, err, request);
     }
 
     @org.springframework.web.bind.annotation.ExceptionHandler(EntityNotFoundException.class)
@@ -121,7 +130,7 @@ public class ExceptionHandler {
         String error = "Entity not found";
         HttpStatus status = HttpStatus.NOT_FOUND;
         StandardError err = new StandardError(Instant.now(), status.value(), error, e.getMessage(), request.getRequestURI());
-        return ResponseEntity.status(status).body(err);
+        return respond(status, err, request);
     }
 
     @org.springframework.web.bind.annotation.ExceptionHandler(InvalidTokenException.class)
@@ -129,7 +138,7 @@ public class ExceptionHandler {
         String error = "Error during token validation";
         HttpStatus status = HttpStatus.BAD_REQUEST;
         StandardError err = new StandardError(Instant.now(), status.value(), error, e.getMessage(), request.getRequestURI());
-        return ResponseEntity.status(status).body(err);
+        return respond(status, err, request);
     }
 
     @org.springframework.web.bind.annotation.ExceptionHandler(BadRequestException.class)
@@ -137,7 +146,7 @@ public class ExceptionHandler {
         String error = "Bad request";
         HttpStatus status = HttpStatus.BAD_REQUEST;
         StandardError err = new StandardError(Instant.now(), status.value(), error, e.getMessage(), request.getRequestURI());
-        return ResponseEntity.status(status).body(err);
+        return respond(status, err, request);
     }
 
     @org.springframework.web.bind.annotation.ExceptionHandler(UserNotEnabledException.class)
@@ -145,14 +154,34 @@ public class ExceptionHandler {
         String error = "User not enabled";
         HttpStatus status = HttpStatus.FORBIDDEN;
         StandardError err = new StandardError(Instant.now(), status.value(), error, e.getMessage(), request.getRequestURI());
-        return ResponseEntity.status(status).body(err);
+        return respond(status, err, request);
     }
 
     @org.springframework.web.bind.annotation.ExceptionHandler(ResponseStatusException.class)
     public ResponseEntity<StandardError> responseStatusException(ResponseStatusException e, HttpServletRequest request) {
         String error = "Something went wrong";
-        int status = e.getStatusCode().value();
-        StandardError err = new StandardError(Instant.now(), status, error, e.getReason(), request.getRequestURI());
+        HttpStatusCode status = e.getStatusCode();
+        StandardError err = new StandardError(Instant.now(), status.value(), error, e.getReason(), request.getRequestURI());
+        return respond(status, err, request);
+    }
+
+    @org.springframework.web.bind.annotation.ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<StandardError> accessDenied(AccessDeniedException e, HttpServletRequest request) {
+        String error = "Access denied";
+        HttpStatus status = HttpStatus.FORBIDDEN;
+        StandardError err = new StandardError(Instant.now(), status.value(), error, e.getMessage(), request.getRequestURI());
+        return respond(status, err, request);
+    }
+
+    private ResponseEntity<StandardError> respond(HttpStatusCode status, StandardError err, HttpServletRequest request) {
+        Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Counter.builder("api.errors")
+                .description("Requests answered by an exception handler")
+                .tag("error", err.getError())
+                .tag("status", String.valueOf(status.value()))
+                .tag("uri", uri != null ? uri.toString() : "UNKNOWN")
+                .register(meterRegistry)
+                .increment();
         return ResponseEntity.status(status).body(err);
     }
-}
\ No newline at end of file
+}
@@ -1,11 +1,71 @@
 package com.example.demo.repositories;
 
+import com.example.demo.dtos.CommentExportDTO;
+import com.example.demo.dtos.CommentSummaryDTO;
+import com.example.demo.dtos.ThreadCommentDTO;
 import com.example.demo.entities.Comment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface CommentRepository extends JpaRepository<Comment, UUID> {
+public interface CommentRepository extends JpaRepository<Comment, UUID>, CommentRepositoryCustom {
+    @Query("SELECT new com.example.demo.dtos.CommentSummaryDTO(c.id, c.content, c.publishDate, c.upvotes, c.author.id, " +
+            "c.replyCount) FROM comments c WHERE c.post.id = :postId AND c.depth = 0 " +
+            "ORDER BY c.publishDate DESC, c.id DESC")
+    List<CommentSummaryDTO> findSummariesByPost(@Param("postId") UUID postId, Pageable pageable);
+
+    @Query("SELECT new com.example.demo.dtos.CommentSummaryDTO(c.id, c.content, c.publishDate, c.upvotes, c.author.id, " +
+            "c.replyCount) FROM comments c WHERE c.post.id = :postId AND c.depth = 0 " +
+            "AND (c.publishDate < :publishDate OR (c.publishDate = :publishDate AND c.id < :id)) " +
+            "ORDER BY c.publishDate DESC, c.id DESC")
+    List<CommentSummaryDTO> findSummariesByPostBefore(@Param("postId") UUID postId,
+                                                      @Param("publishDate") Instant publishDate,
+                                                      @Param("id") UUID id,
+                                                      Pageable pageable);
+
+    @Query("SELECT new com.example.demo.dtos.CommentSummaryDTO(c.id, c.content, c.publishDate, c.upvotes, c.author.id, " +
+            "c.replyCount) FROM comments c WHERE c.post.id = :postId AND c.depth = 0 " +
+            "ORDER BY c.upvotes DESC, c.id DESC")
+    List<CommentSummaryDTO> findTopSummariesByPost(@Param("postId") UUID postId, Pageable pageable);
+
+    @Query("SELECT new com.example.demo.dtos.CommentSummaryDTO(c.id, c.content, c.publishDate, c.upvotes, c.author.id, " +
+            "c.replyCount) FROM comments c WHERE c.post.id = :postId AND c.depth = 0 " +
+            "AND (c.upvotes < :upvotes OR (c.upvotes = :upvotes AND c.id < :id)) " +
+            "ORDER BY c.upvotes DESC, c.id DESC")
+    List<CommentSummaryDTO> findTopSummariesByPostBefore(@Param("postId") UUID postId,
+                                                         @Param("upvotes") int upvotes,
+                                                         @Param("id") UUID id,
+                                                         Pageable pageable);
+
+    @EntityGraph(attributePaths = "author")
+    @Query("SELECT c FROM comments c WHERE c.post.id = :postId AND c.depth = 0 " +
+            "ORDER BY c.publishDate DESC, c.id DESC")
+    List<Comment> findWithAuthorByPost(@Param("postId") UUID postId, Pageable pageable);
+
+    @Query("SELECT new com.example.demo.dtos.ThreadCommentDTO(c.id, c.content, c.publishDate, c.upvotes, c.author.id, " +
+            "c.depth, c.replyCount, c.path) FROM comments c, comments r " +
+            "WHERE r.id = :id AND c.post = r.post AND c.path >= r.path AND c.path < concat(r.path, 'g') " +
+            "AND c.depth <= r.depth + :depth " +
+            "ORDER BY c.path")
+    List<ThreadCommentDTO> findSubtree(@Param("id") UUID id, @Param("depth") int depth, Pageable pageable);
+
+    @Query("SELECT c.id FROM comments c WHERE c.post.id = :postId AND c.path >= :path AND c.path < concat(:path, 'g')")
+    List<UUID> findSubtreeIds(@Param("postId") UUID postId, @Param("path") String path);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.example.demo.dtos.CommentExportDTO(c.id, c.content, c.publishDate, c.upvotes, " +
+            "c.post.id, c.author.id) FROM comments c")
+    Stream<CommentExportDTO> streamForExport();
 }
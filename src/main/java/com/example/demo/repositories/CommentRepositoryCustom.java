@@ -0,0 +1,20 @@
+package com.example.demo.repositories;
+
+import com.example.demo.dtos.CommentPatchDTO;
+
+import java.util.Collection;
+import java.util.UUID;
+
+public interface CommentRepositoryCustom {
+    int patchByIdAndAuthor(UUID id, UUID authorId, CommentPatchDTO patch);
+
+    int incrementReplyCount(UUID id);
+
+    int decrementReplyCount(UUID id);
+
+    int deleteByIdIn(Collection<UUID> ids);
+
+    int deleteByPostId(UUID postId);
+
+    int deleteByPostIdIn(Collection<UUID> postIds);
+}
@@ -0,0 +1,89 @@
+package com.example.demo.repositories;
+
+import com.example.demo.dtos.CommentPatchDTO;
+import com.example.demo.entities.Comment;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static com.example.demo.services.utils.AfterCommit.afterCommit;
+
+public class CommentRepositoryCustomImpl implements CommentRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int patchByIdAndAuthor(UUID id, UUID authorId, CommentPatchDTO patch) {
+        return updateRow("UPDATE comments SET content = :content WHERE id = :id AND user_id = :authorId", id)
+                .setParameter("content", patch.getContent())
+                .setParameter("authorId", authorId)
+                .executeUpdate();
+    }
+
+    @Override
+    @Transactional
+    public int incrementReplyCount(UUID id) {
+        return updateRow("UPDATE comments SET reply_count = reply_count + 1 WHERE id = :id", id)
+                .executeUpdate();
+    }
+
+    @Override
+    @Transactional
+    public int decrementReplyCount(UUID id) {
+        return updateRow("UPDATE comments SET reply_count = reply_count - 1 WHERE id = :id AND reply_count > 0", id)
+                .executeUpdate();
+    }
+
+    @Override
+    @Transactional
+    public int deleteByIdIn(Collection<UUID> ids) {
+        evict(ids);
+        return nativeUpdate("DELETE FROM comments WHERE id IN (:ids)")
+                .setParameterList("ids", ids)
+                .executeUpdate();
+    }
+
+    @Override
+    @Transactional
+    public int deleteByPostId(UUID postId) {
+        return deleteByPostIdIn(List.of(postId));
+    }
+
+    @Override
+    @Transactional
+    public int deleteByPostIdIn(Collection<UUID> postIds) {
+        List<UUID> ids = entityManager.createQuery("SELECT c.id FROM comments c WHERE c.post.id IN :postIds", UUID.class)
+                .setParameter("postIds", postIds)
+                .getResultList();
+        evict(ids);
+        return nativeUpdate("DELETE FROM comments WHERE post_id IN (:postIds)")
+                .setParameterList("postIds", postIds)
+                .executeUpdate();
+    }
+
+    private NativeQuery<?> updateRow(String sql, UUID id) {
+        evict(List.of(id));
+        return nativeUpdate(sql).setParameter("id", id);
+    }
+
+    // Same as for posts: only the changed comments leave the cache, not the whole comments region.
+    private NativeQuery<?> nativeUpdate(String sql) {
+        return entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace("");
+    }
+
+    private void evict(Collection<UUID> ids) {
+        List<UUID> evicted = List.copyOf(ids);
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        evicted.forEach(id -> cache.evict(Comment.class, id));
+        afterCommit(() -> evicted.forEach(id -> cache.evict(Comment.class, id)));
+    }
+}
@@ -1,11 +1,54 @@
 package com.example.demo.repositories;
 
+import com.example.demo.dtos.PostExportDTO;
+import com.example.demo.dtos.PostSummaryDTO;
 import com.example.demo.entities.Post;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface PostRepository extends JpaRepository<Post, UUID> {
+public interface PostRepository extends JpaRepository<Post, UUID>, PostRepositoryCustom {
+    List<Post> findByPublishDateAfter(Instant publishDate);
+
+    @EntityGraph(attributePaths = "author")
+    @Query("SELECT p FROM posts p WHERE p.id = :id")
+    Optional<Post> findWithAuthorById(@Param("id") UUID id);
+
+    @Query("SELECT new com.example.demo.dtos.PostSummaryDTO(p.id, p.title, p.publishDate, p.upvotes, p.commentCount) " +
+            "FROM posts p WHERE p.author.id = :authorId " +
+            "ORDER BY p.publishDate DESC, p.id DESC")
+    List<PostSummaryDTO> findSummariesByAuthor(@Param("authorId") UUID authorId, Pageable pageable);
+
+    @Query("SELECT new com.example.demo.dtos.PostSummaryDTO(p.id, p.title, p.publishDate, p.upvotes, p.commentCount) " +
+            "FROM posts p WHERE p.author.id = :authorId " +
+            "AND (p.publishDate < :publishDate OR (p.publishDate = :publishDate AND p.id < :id)) " +
+            "ORDER BY p.publishDate DESC, p.id DESC")
+    List<PostSummaryDTO> findSummariesByAuthorBefore(@Param("authorId") UUID authorId,
+                                                     @Param("publishDate") Instant publishDate,
+                                                     @Param("id") UUID id,
+                                                     Pageable pageable);
+
+    @Query("SELECT p.id FROM posts p ORDER BY p.id")
+    List<UUID> findIds(Pageable pageable);
+
+    @Query("SELECT p.id FROM posts p WHERE p.id > :id ORDER BY p.id")
+    List<UUID> findIdsAfter(@Param("id") UUID id, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.example.demo.dtos.PostExportDTO(p.id, p.title, p.content, p.publishDate, p.upvotes, " +
+            "p.categories, p.author.id) FROM posts p")
+    Stream<PostExportDTO> streamForExport();
 }
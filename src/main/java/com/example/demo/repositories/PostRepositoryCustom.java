@@ -0,0 +1,18 @@
+package com.example.demo.repositories;
+
+import com.example.demo.dtos.PostPatchDTO;
+
+import java.util.Collection;
+import java.util.UUID;
+
+public interface PostRepositoryCustom {
+    int patchByIdAndAuthor(UUID id, UUID authorId, PostPatchDTO patch);
+
+    int incrementCommentCount(UUID id);
+
+    int decrementCommentCount(UUID id, int count);
+
+    int reconcileCommentCounts(Collection<UUID> ids);
+
+    int deleteByIdIn(Collection<UUID> ids);
+}
@@ -0,0 +1,98 @@
+package com.example.demo.repositories;
+
+import com.example.demo.dtos.PostPatchDTO;
+import com.example.demo.entities.Post;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static com.example.demo.services.utils.AfterCommit.afterCommit;
+
+public class PostRepositoryCustomImpl implements PostRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int patchByIdAndAuthor(UUID id, UUID authorId, PostPatchDTO patch) {
+        List<String> columns = new ArrayList<>();
+        if (patch.getTitle() != null) {
+            columns.add("title = :title");
+        }
+        if (patch.getContent() != null) {
+            columns.add("content = :content");
+        }
+        NativeQuery<?> update = updateRow("UPDATE posts SET " + String.join(", ", columns) +
+                " WHERE id = :id AND user_id = :authorId", id)
+                .setParameter("authorId", authorId);
+        if (patch.getTitle() != null) {
+            update.setParameter("title", patch.getTitle());
+        }
+        if (patch.getContent() != null) {
+            update.setParameter("content", patch.getContent());
+        }
+        return update.executeUpdate();
+    }
+
+    @Override
+    @Transactional
+    public int incrementCommentCount(UUID id) {
+        return updateRow("UPDATE posts SET comment_count = comment_count + 1 WHERE id = :id", id)
+                .executeUpdate();
+    }
+
+    @Override
+    @Transactional
+    public int decrementCommentCount(UUID id, int count) {
+        return updateRow("UPDATE posts SET comment_count = " +
+                "CASE WHEN comment_count > :count THEN comment_count - :count ELSE 0 END WHERE id = :id", id)
+                .setParameter("count", count)
+                .executeUpdate();
+    }
+
+    @Override
+    @Transactional
+    public int reconcileCommentCounts(Collection<UUID> ids) {
+        evict(ids);
+        return nativeUpdate("UPDATE posts p SET comment_count = (SELECT count(*) FROM comments c WHERE c.post_id = p.id) " +
+                "WHERE p.id IN (:ids) AND p.comment_count <> (SELECT count(*) FROM comments c WHERE c.post_id = p.id)")
+                .setParameterList("ids", ids)
+                .executeUpdate();
+    }
+
+    @Override
+    @Transactional
+    public int deleteByIdIn(Collection<UUID> ids) {
+        evict(ids);
+        return nativeUpdate("DELETE FROM posts WHERE id IN (:ids)")
+                .setParameterList("ids", ids)
+                .executeUpdate();
+    }
+
+    private NativeQuery<?> updateRow(String sql, UUID id) {
+        evict(List.of(id));
+        return nativeUpdate(sql).setParameter("id", id);
+    }
+
+    // A bulk statement invalidates the whole posts region. The empty query space keeps Hibernate from doing that,
+    // so the callers evict the posts they change instead, now and again once the change is committed.
+    private NativeQuery<?> nativeUpdate(String sql) {
+        return entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace("");
+    }
+
+    private void evict(Collection<UUID> ids) {
+        List<UUID> evicted = List.copyOf(ids);
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        evicted.forEach(id -> cache.evict(Post.class, id));
+        afterCommit(() -> evicted.forEach(id -> cache.evict(Post.class, id)));
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.demo.repositories;
+
+import com.example.demo.dtos.CommentSummaryDTO;
+import com.example.demo.dtos.CommentViewDTO;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static com.example.demo.repositories.ReactivePostRepository.author;
+import static com.example.demo.repositories.ReactivePostRepository.instant;
+import static com.example.demo.repositories.ReactivePostRepository.timestamp;
+
+public class ReactiveCommentRepository {
+    private static final String SUMMARY_COLUMNS = "SELECT c.id, c.content, c.publish_date, c.upvotes, c.user_id, " +
+            "c.reply_count FROM comments c WHERE c.post_id = :postId AND c.depth = 0 ";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveCommentRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<CommentSummaryDTO> findSummariesByPost(UUID postId, int limit) {
+        return databaseClient.sql(SUMMARY_COLUMNS + "ORDER BY c.publish_date DESC, c.id DESC LIMIT :limit")
+                .bind("postId", postId)
+                .bind("limit", limit)
+                .map((row, metadata) -> toSummary(row))
+                .all();
+    }
+
+    public Flux<CommentSummaryDTO> findSummariesByPostBefore(UUID postId, Instant publishDate, UUID id, int limit) {
+        return databaseClient.sql(SUMMARY_COLUMNS +
+                        "AND (c.publish_date < :publishDate OR (c.publish_date = :publishDate AND c.id < :id)) " +
+                        "ORDER BY c.publish_date DESC, c.id DESC LIMIT :limit")
+                .bind("postId", postId)
+                .bind("publishDate", timestamp(publishDate))
+                .bind("id", id)
+                .bind("limit", limit)
+                .map((row, metadata) -> toSummary(row))
+                .all();
+    }
+
+    public Flux<CommentSummaryDTO> findTopSummariesByPost(UUID postId, int limit) {
+        return databaseClient.sql(SUMMARY_COLUMNS + "ORDER BY c.upvotes DESC, c.id DESC LIMIT :limit")
+                .bind("postId", postId)
+                .bind("limit", limit)
+                .map((row, metadata) -> toSummary(row))
+                .all();
+    }
+
+    public Flux<CommentSummaryDTO> findTopSummariesByPostBefore(UUID postId, int upvotes, UUID id, int limit) {
+        return databaseClient.sql(SUMMARY_COLUMNS +
+                        "AND (c.upvotes < :upvotes OR (c.upvotes = :upvotes AND c.id < :id)) " +
+                        "ORDER BY c.upvotes DESC, c.id DESC LIMIT :limit")
+                .bind("postId", postId)
+                .bind("upvotes", upvotes)
+                .bind("id", id)
+                .bind("limit", limit)
+                .map((row, metadata) -> toSummary(row))
+                .all();
+    }
+
+    public Flux<CommentViewDTO> findWithAuthorByPost(UUID postId, int limit) {
+        return databaseClient.sql("SELECT c.id, c.content, c.publish_date, c.upvotes, c.reply_count, " +
+                        "u.id AS author_id, u.username FROM comments c LEFT JOIN users u ON u.id = c.user_id " +
+                        "WHERE c.post_id = :postId AND c.depth = 0 " +
+                        "ORDER BY c.publish_date DESC, c.id DESC LIMIT :limit")
+                .bind("postId", postId)
+                .bind("limit", limit)
+                .map((row, metadata) -> new CommentViewDTO(row.get("id", UUID.class), row.get("content", String.class),
+                        instant(row, "publish_date"), row.get("upvotes", Integer.class),
+                        row.get("reply_count", Integer.class), author(row)))
+                .all();
+    }
+
+    private static CommentSummaryDTO toSummary(Readable row) {
+        return new CommentSummaryDTO(row.get("id", UUID.class), row.get("content", String.class),
+                instant(row, "publish_date"), row.get("upvotes", Integer.class), row.get("user_id", UUID.class),
+                row.get("reply_count", Integer.class));
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.demo.repositories;
+
+import com.example.demo.dtos.AuthorDTO;
+import com.example.demo.dtos.PostSummaryDTO;
+import com.example.demo.dtos.PostViewDTO;
+import com.example.demo.entities.enums.PostCategory;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Set;
+import java.util.UUID;
+
+public class ReactivePostRepository {
+    private static final String SUMMARY_COLUMNS = "SELECT p.id, p.title, p.publish_date, p.upvotes, p.comment_count " +
+            "FROM posts p ";
+
+    private final DatabaseClient databaseClient;
+    private final int fetchSize;
+
+    public ReactivePostRepository(DatabaseClient databaseClient, int fetchSize) {
+        this.databaseClient = databaseClient;
+        this.fetchSize = fetchSize;
+    }
+
+    public Flux<PostSummaryDTO> findSummaries(int limit) {
+        return databaseClient.sql(SUMMARY_COLUMNS + "ORDER BY p.publish_date DESC, p.id DESC LIMIT :limit")
+                .bind("limit", limit)
+                .filter((statement, next) -> next.execute(statement.fetchSize(fetchSize)))
+                .map((row, metadata) -> toSummary(row))
+                .all();
+    }
+
+    public Flux<PostSummaryDTO> findSummariesBefore(Instant publishDate, UUID id, int limit) {
+        return databaseClient.sql(SUMMARY_COLUMNS +
+                        "WHERE (p.publish_date < :publishDate OR (p.publish_date = :publishDate AND p.id < :id)) " +
+                        "ORDER BY p.publish_date DESC, p.id DESC LIMIT :limit")
+                .bind("publishDate", timestamp(publishDate))
+                .bind("id", id)
+                .bind("limit", limit)
+                .filter((statement, next) -> next.execute(statement.fetchSize(fetchSize)))
+                .map((row, metadata) -> toSummary(row))
+                .all();
+    }
+
+    public Mono<PostViewDTO> findView(UUID id) {
+        return databaseClient.sql("SELECT p.id, p.title, p.content, p.publish_date, p.upvotes, p.comment_count, " +
+                        "p.categories, u.id AS author_id, u.username FROM posts p " +
+                        "LEFT JOIN users u ON u.id = p.user_id WHERE p.id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> new PostViewDTO(row.get("id", UUID.class), row.get("title", String.class),
+                        row.get("content", String.class), instant(row, "publish_date"),
+                        row.get("upvotes", Integer.class), row.get("comment_count", Integer.class),
+                        categories(row), author(row), null))
+                .one();
+    }
+
+    public Mono<Boolean> existsById(UUID id) {
+        return databaseClient.sql("SELECT 1 FROM posts WHERE id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> true)
+                .first()
+                .defaultIfEmpty(false);
+    }
+
+    static Instant instant(Readable row, String column) {
+        Object value = row.get(column);
+        if (value instanceof OffsetDateTime offsetDateTime) {
+            return offsetDateTime.toInstant();
+        }
+        if (value instanceof LocalDateTime localDateTime) {
+            return localDateTime.toInstant(ZoneOffset.UTC);
+        }
+        return (Instant) value;
+    }
+
+    static OffsetDateTime timestamp(Instant instant) {
+        return OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    static AuthorDTO author(Readable row) {
+        UUID authorId = row.get("author_id", UUID.class);
+        return authorId != null ? new AuthorDTO(authorId, row.get("username", String.class)) : null;
+    }
+
+    private static PostSummaryDTO toSummary(Readable row) {
+        return new PostSummaryDTO(row.get("id", UUID.class), row.get("title", String.class),
+                instant(row, "publish_date"), row.get("upvotes", Integer.class),
+                row.get("comment_count", Integer.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<PostCategory> categories(Readable row) {
+        Object value = row.get("categories");
+        if (value == null) {
+            return null;
+        }
+        byte[] bytes;
+        if (value instanceof ByteBuffer buffer) {
+            bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+        } else {
+            bytes = (byte[]) value;
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return (Set<PostCategory>) in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("Could not read the categories of post " + row.get("id", UUID.class), e);
+        }
+    }
+}
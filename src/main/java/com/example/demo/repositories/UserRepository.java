@@ -1,24 +1,22 @@
 package com.example.demo.repositories;
 
 import com.example.demo.entities.User;
-import jakarta.transaction.Transactional;
-import org.springframework.data.jpa.repository.Modifying;
-import org.springframework.data.jpa.repository.Query;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.UUID;
 
 @Repository
-public interface UserRepository extends CrudRepository<User, UUID> {
-    User findByUsername(String username);
-
-    @Transactional
-    @Query("UPDATE users SET failedAttempt = ?1 WHERE username = ?2")
-    @Modifying
-    void updateFailedAttempts(int failAttempts, String username);
-
+public interface UserRepository extends CrudRepository<User, UUID>, UserRepositoryCustom {
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     User findByEmail(String email);
 
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     User findByResetPasswordToken(UUID token);
 }
@@ -0,0 +1,7 @@
+package com.example.demo.repositories;
+
+import com.example.demo.entities.User;
+
+public interface UserRepositoryCustom {
+    User findByUsername(String username);
+}
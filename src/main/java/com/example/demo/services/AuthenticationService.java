@@ -11,6 +11,7 @@ import com.example.demo.repositories.ConfirmationTokenRepository;
 import com.example.demo.repositories.UserRepository;
 import com.example.demo.services.exceptions.DuplicateKeyException;
 import com.example.demo.services.exceptions.InvalidOldPasswordException;
+import com.example.demo.services.exceptions.ResourceNotFoundException;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,6 +27,8 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.Instant;
@@ -51,8 +54,11 @@ public class AuthenticationService implements UserDetailsService {
     private ConfirmationTokenRepository confirmationTokenRepository;
     @Autowired
     private EmailSenderService senderService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
 
     @Override
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) {
         User user = userRepository.findByUsername(username);
         if (user == null) {
@@ -64,11 +70,12 @@ public class AuthenticationService implements UserDetailsService {
     public String register(RegisterDTO register) {
         try {
             User user = new User(register.getUsername(), register.getEmail(), passwordEncoder.encode(register.getPassword()), Role.ROLE_USER);
-            userRepository.save(user);
-
             ConfirmationToken confirmationToken = new ConfirmationToken(user);
 
-            confirmationTokenRepository.save(confirmationToken);
+            transactionTemplate.executeWithoutResult(status -> {
+                userRepository.save(user);
+                confirmationTokenRepository.save(confirmationToken);
+            });
 
             String subject = "Complete registration!";
             String newTokenLink = "http://localhost:8080/auth/confirm-account?token=" + confirmationToken.getConfirmationToken();
@@ -109,15 +116,23 @@ public class AuthenticationService implements UserDetailsService {
         passwordService.changePassword(user, changePasswordDTO.getNewPassword());
     }
 
+    @Transactional
     public void increaseFailedAttempts(User user) {
-        int newFailAttempts = user.getFailedAttempt() + 1;
-        userRepository.updateFailedAttempts(newFailAttempts, user.getUsername());
+        User entity = userRepository.findByUsername(user.getUsername());
+        if (entity != null) {
+            entity.setFailedAttempt(entity.getFailedAttempt() + 1);
+        }
     }
 
+    @Transactional
     public void resetFailedAttempts(String username) {
-        userRepository.updateFailedAttempts(0, username);
+        User entity = userRepository.findByUsername(username);
+        if (entity != null) {
+            entity.setFailedAttempt(0);
+        }
     }
 
+    @Transactional
     public void lock(User user) {
         user.setAccountNonLocked(false);
         user.setLockTime(new Date());
@@ -125,6 +140,7 @@ public class AuthenticationService implements UserDetailsService {
         userRepository.save(user);
     }
 
+    @Transactional
     public boolean unlockWhenTimeExpired(User user) {
         long lockTimeInMillis = user.getLockTime().getTime();
         long currentTimeInMillis = System.currentTimeMillis();
@@ -142,6 +158,7 @@ public class AuthenticationService implements UserDetailsService {
         return false;
     }
 
+    @Transactional(readOnly = true)
     public User getByUsername(String username) {
         return userRepository.findByUsername(username);
     }
@@ -149,7 +166,7 @@ public class AuthenticationService implements UserDetailsService {
     public void forgotPassword(HttpServletRequest request, String email) {
         UUID token = UUID.randomUUID();
 
-        updateResetPasswordToken(token, email);
+        transactionTemplate.executeWithoutResult(status -> updateResetPasswordToken(token, email));
         String resetPasswordLink = getSiteURL(request) + "/reset_password?token=" + token;
 
         String subject = "Here's the link to reset your password";
@@ -177,6 +194,7 @@ public class AuthenticationService implements UserDetailsService {
         changePasswordByUser(user, password);
     }
 
+    @Transactional
     public void updateResetPasswordToken(UUID token, String email) {
         User user = userRepository.findByEmail(email);
         if (user == null) {
@@ -186,16 +204,22 @@ public class AuthenticationService implements UserDetailsService {
         userRepository.save(user);
     }
 
+    @Transactional(readOnly = true)
     public User getByResetPasswordToken(UUID token) {
         return userRepository.findByResetPasswordToken(token);
     }
 
     public void changePasswordByUser(User user, String newPassword) {
         String encodedPassword = passwordService.hashPassword(newPassword);
-        user.setPassword(encodedPassword);
 
+        transactionTemplate.executeWithoutResult(status -> {
+            User entity = userRepository.findById(user.getId())
+                    .orElseThrow(() -> new ResourceNotFoundException(user.getId()));
+            entity.setPassword(encodedPassword);
+            entity.setResetPasswordToken(null);
+        });
+        user.setPassword(encodedPassword);
         user.setResetPasswordToken(null);
-        userRepository.save(user);
     }
 
     public String getSiteURL(HttpServletRequest request) {
@@ -204,40 +228,47 @@ public class AuthenticationService implements UserDetailsService {
     }
 
     public String confirmEmail(UUID confirmationToken) {
-        ConfirmationToken token = confirmationTokenRepository.findByConfirmationToken(confirmationToken);
-
-        if (token == null) {
-            throw new EntityNotFoundException("Token not found");
-        }
+        ConfirmationToken renewed = transactionTemplate.execute(status -> {
+            ConfirmationToken token = confirmationTokenRepository.findByConfirmationToken(confirmationToken);
+
+            if (token == null) {
+                throw new EntityNotFoundException("Token not found");
+            }
+
+            User user = userRepository.findByEmail(token.getUser().getEmail());
+
+            if (user.isEnabled()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Email is already confirmed");
+            }
+            if (token.isTokenExpired()) {
+                token.setConfirmationToken(UUID.randomUUID());
+                token.setCreatedDate(Instant.now());
+                token.setExpiryDate(token.getCreatedDate().plusSeconds(30 * 60));
+                confirmationTokenRepository.save(token);
+                return token;
+            }
+
+            user.setEnabled(true);
+            userRepository.save(user);
 
-        User user = userRepository.findByEmail(token.getUser().getEmail());
+            confirmationTokenRepository.deleteById(token.getId());
+            return null;
+        });
 
-        if (user.isEnabled()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Email is already confirmed");
-        }
-        if (token.isTokenExpired()) {
-            token.setConfirmationToken(UUID.randomUUID());
-            token.setCreatedDate(Instant.now());
-            token.setExpiryDate(token.getCreatedDate().plusSeconds(30 * 60));
-            confirmationTokenRepository.save(token);
+        if (renewed != null) {
             String subject = "New confirmation token";
-            String newTokenLink = "http://localhost:8080/auth/confirm-account?token=" + token.getConfirmationToken();
+            String newTokenLink = "http://localhost:8080/auth/confirm-account?token=" + renewed.getConfirmationToken();
             String content = "<p>Hello,</p>"
                     + "<p>Your previous confirmation token has expired.</p>"
                     + "Here is a new confirmation token link: "
                     + "<p><a href=\"" + newTokenLink + "\">Confirm my account</a></p>";
 
-            senderService.sendEmail(token.getUser().getEmail(), subject, content);
+            senderService.sendEmail(renewed.getUser().getEmail(), subject, content);
 
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
                     "The confirmation token has expired, a new token has been sent to your email");
         }
 
-        user.setEnabled(true);
-        userRepository.save(user);
-
-        confirmationTokenRepository.deleteById(token.getId());
-
         return "Email verified successfully";
     }
 }
\ No newline at end of file
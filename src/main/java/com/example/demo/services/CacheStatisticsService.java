@@ -0,0 +1,46 @@
+package com.example.demo.services;
+
+import com.example.demo.dtos.CacheRegionStatisticsDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Service
+public class CacheStatisticsService {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    public List<CacheRegionStatisticsDTO> findAll() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<CacheRegionStatisticsDTO> result = new ArrayList<>();
+        if (!statistics.isStatisticsEnabled()) {
+            return result;
+        }
+
+        String[] regions = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(regions);
+        for (String region : regions) {
+            CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+            if (stats == null) {
+                continue;
+            }
+            long hits = stats.getHitCount();
+            long misses = stats.getMissCount();
+            result.add(new CacheRegionStatisticsDTO(region, hits, misses, stats.getPutCount(),
+                    stats.getElementCountInMemory(), hits + misses > 0 ? (double) hits / (hits + misses) : 0));
+        }
+        return result;
+    }
+
+    public void clear() {
+        entityManagerFactory.unwrap(SessionFactory.class).getStatistics().clear();
+    }
+}
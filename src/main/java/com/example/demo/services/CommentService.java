@@ -1,72 +1,191 @@
 package com.example.demo.services;
 
 import com.example.demo.dtos.CommentDTO;
+import com.example.demo.dtos.CommentPatchDTO;
+import com.example.demo.dtos.CommentSummaryDTO;
+import com.example.demo.dtos.CursorPageDTO;
+import com.example.demo.dtos.ThreadCommentDTO;
 import com.example.demo.entities.Comment;
 import com.example.demo.entities.Post;
 import com.example.demo.entities.User;
 import com.example.demo.entities.enums.Role;
 import com.example.demo.repositories.CommentRepository;
+import com.example.demo.repositories.PostRepository;
 import com.example.demo.services.exceptions.DatabaseException;
 import com.example.demo.services.exceptions.ResourceNotFoundException;
+import com.example.demo.services.exceptions.UnauthorizedAccessException;
+import com.example.demo.services.utils.KeysetCursor;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.Instant;
-import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
 
+import static com.example.demo.services.utils.AfterCommit.afterCommit;
+import static com.example.demo.services.utils.checkOwnership.NOT_OWNER_MESSAGE;
 import static com.example.demo.services.utils.checkOwnership.checkOwnership;
 
 @Service
 public class CommentService {
+    public static final int MAX_PAGE_SIZE = 50;
+    public static final int MAX_THREAD_SIZE = 1000;
 
     @Autowired
     private CommentRepository commentRepository;
 
     @Autowired
-    private PostService postService;
+    private PostRepository postRepository;
 
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    @Transactional
     public Comment create(CommentDTO comment) {
+        User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        UUID postId = comment.getPostId();
+        Comment parent = comment.getParentId() != null ? findParent(comment) : null;
+        if (postRepository.incrementCommentCount(postId) == 0) {
+            throw new ResourceNotFoundException(postId);
+        }
+
         try {
-            User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-            Post post = postService.findById(comment.getPostId());
-            return commentRepository.save(new Comment(comment.getContent(), Instant.now(), post, user));
-        } catch (EntityNotFoundException e) {
-            throw new ResourceNotFoundException(comment.getPostId());
+            Post post = postRepository.getReferenceById(postId);
+            Comment entity = parent == null
+                    ? new Comment(comment.getContent(), Instant.now(), post, user)
+                    : new Comment(comment.getContent(), Instant.now(), post, user, parent);
+            Comment result = commentRepository.saveAndFlush(entity);
+            if (parent != null) {
+                commentRepository.incrementReplyCount(parent.getId());
+            }
+            afterCommit(() -> {
+                searchService.indexComment(result);
+                trendingService.recordComment(postId);
+            });
+            return result;
+        } catch (DataIntegrityViolationException e) {
+            throw new DatabaseException(e.getMessage());
+        }
+    }
+
+    private Comment findParent(CommentDTO comment) {
+        Comment parent = findById(comment.getParentId());
+        if (!parent.getPost().getId().equals(comment.getPostId())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The parent comment belongs to another post");
+        }
+        if (parent.getDepth() >= Comment.MAX_DEPTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Replies can be nested at most " + Comment.MAX_DEPTH + " levels deep");
+        }
+        return parent;
+    }
+
+    @Transactional(readOnly = true)
+    public List<Comment> findAll(Integer pageNo, Integer pageSize) {
+        int size = pageSize(pageSize);
+        Pageable paging = PageRequest.of(pageNo, size, Sort.by(Sort.Direction.DESC, "publishDate", "id"));
+        return commentRepository.findAll(paging).getContent();
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<CommentSummaryDTO> findByPost(UUID postId, String order, String cursor, Integer pageSize) {
+        boolean top = isTopOrder(order);
+        int size = pageSize(pageSize);
+        Pageable limit = PageRequest.of(0, size + 1);
+
+        List<CommentSummaryDTO> comments;
+        if (cursor == null || cursor.isBlank()) {
+            comments = top
+                    ? commentRepository.findTopSummariesByPost(postId, limit)
+                    : commentRepository.findSummariesByPost(postId, limit);
+            if (comments.isEmpty() && !postRepository.existsById(postId)) {
+                throw new ResourceNotFoundException(postId);
+            }
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            comments = top
+                    ? commentRepository.findTopSummariesByPostBefore(postId, after.intKey(), after.id(), limit)
+                    : commentRepository.findSummariesByPostBefore(postId, after.instantKey(), after.id(), limit);
         }
+
+        String nextCursor = null;
+        if (comments.size() > size) {
+            comments = comments.subList(0, size);
+            CommentSummaryDTO last = comments.get(size - 1);
+            nextCursor = KeysetCursor.encode(top ? last.getUpvotes() : last.getPublishDate(), last.getId());
+        }
+        return new CursorPageDTO<>(comments, nextCursor);
+    }
+
+    public static boolean isTopOrder(String order) {
+        boolean top = "top".equalsIgnoreCase(order);
+        if (!top && !"new".equalsIgnoreCase(order)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Order must be one of: new, top");
+        }
+        return top;
     }
 
-    public List<Comment> findAll() {
-        return commentRepository.findAll();
+    public static int pageSize(Integer pageSize) {
+        return Math.max(1, Math.min(pageSize, MAX_PAGE_SIZE));
     }
 
+    @Transactional(readOnly = true)
+    public ThreadCommentDTO findThread(UUID id, Integer depth) {
+        int maxDepth = depth == null ? Comment.MAX_DEPTH : Math.max(0, Math.min(depth, Comment.MAX_DEPTH));
+        List<ThreadCommentDTO> comments = commentRepository.findSubtree(id, maxDepth, PageRequest.of(0, MAX_THREAD_SIZE));
+        if (comments.isEmpty()) {
+            throw new ResourceNotFoundException(id);
+        }
+
+        ThreadCommentDTO root = comments.get(0);
+        Map<String, ThreadCommentDTO> byPath = new HashMap<>();
+        byPath.put(root.getPath(), root);
+        for (ThreadCommentDTO comment : comments.subList(1, comments.size())) {
+            String parentPath = comment.getPath().substring(0, comment.getPath().length() - Comment.PATH_SEGMENT_LENGTH);
+            ThreadCommentDTO parent = byPath.get(parentPath);
+            if (parent != null) {
+                parent.getReplies().add(comment);
+                byPath.put(comment.getPath(), comment);
+            }
+        }
+        return root;
+    }
+
+    @Transactional(readOnly = true)
     public Comment findById(UUID id) {
         Optional<Comment> post = commentRepository.findById(id);
         return post.orElseThrow(() -> new ResourceNotFoundException(id));
     }
 
-    public Comment update(UUID id, Comment obj) {
-        try {
-            Comment entity = commentRepository.getReferenceById(id);
-            User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-            checkOwnership(user, entity.getAuthor().getId());
-            updateData(entity, obj);
-
-            return commentRepository.save(entity);
-        } catch (EntityNotFoundException e) {
+    @Transactional
+    public void update(UUID id, CommentPatchDTO patch) {
+        if (patch.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Nothing to update");
+        }
+        User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (commentRepository.patchByIdAndAuthor(id, user.getId(), patch) == 0) {
+            if (commentRepository.existsById(id)) {
+                throw new UnauthorizedAccessException(NOT_OWNER_MESSAGE);
+            }
             throw new ResourceNotFoundException(id);
         }
-    }
 
-    private void updateData(Comment entity, Comment obj) {
-        entity.setContent(obj.getContent());
+        afterCommit(() -> searchService.updateComment(id, patch.getContent()));
     }
 
+    @Transactional
     public void delete(UUID id) {
         try {
             Comment entity = commentRepository.getReferenceById(id);
@@ -78,14 +197,22 @@ public class CommentService {
                 checkOwnership(user, entity.getAuthor().getId());
             }
 
-            commentRepository.deleteById(id);
-        } catch (EmptyResultDataAccessException e) {
+            UUID postId = entity.getPost().getId();
+            List<UUID> ids = commentRepository.findSubtreeIds(postId, entity.getPath());
+            int deleted = commentRepository.deleteByIdIn(ids);
+            postRepository.decrementCommentCount(postId, deleted);
+            afterCommit(() -> ids.forEach(searchService::remove));
+            if (entity.getParentId() != null) {
+                commentRepository.decrementReplyCount(entity.getParentId());
+            }
+        } catch (EntityNotFoundException | EmptyResultDataAccessException e) {
             throw new ResourceNotFoundException(id);
         } catch (DataIntegrityViolationException e) {
             throw new DatabaseException(e.getMessage());
         }
     }
 
+    @Transactional
     public boolean increaseUpvote(UUID id) {
         User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
         UUID userId = user.getId();
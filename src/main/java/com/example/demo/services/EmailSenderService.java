@@ -3,15 +3,24 @@ package com.example.demo.services;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+
 @Service
 public class EmailSenderService {
     @Autowired
     private JavaMailSender mailSender;
 
+    @Autowired(required = false)
+    @Qualifier("mailExecutor")
+    private ExecutorService mailExecutor;
+
     public void sendEmail(String toEmail,
                           String subject,
                           String content) {
@@ -25,7 +34,7 @@ public class EmailSenderService {
             helper.setText(content, true);
             helper.setSubject(subject);
 
-            mailSender.send(message);
+            send(message);
 
         } catch (MessagingException e) {
             try {
@@ -35,4 +44,22 @@ public class EmailSenderService {
             }
         }
     }
+
+    private void send(MimeMessage message) {
+        if (mailExecutor == null) {
+            mailSender.send(message);
+            return;
+        }
+        try {
+            mailExecutor.submit(() -> mailSender.send(message)).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new MailSendException("Failed to send email", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MailSendException("Interrupted while sending email", e);
+        }
+    }
 }
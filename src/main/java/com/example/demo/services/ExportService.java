@@ -0,0 +1,75 @@
+package com.example.demo.services;
+
+import com.example.demo.repositories.CommentRepository;
+import com.example.demo.repositories.PostRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+@Service
+public class ExportService {
+    private static final int FLUSH_INTERVAL = 500;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public long exportPosts(OutputStream out) throws IOException {
+        try (Stream<?> posts = postRepository.streamForExport()) {
+            return write(posts, out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportComments(OutputStream out) throws IOException {
+        try (Stream<?> comments = commentRepository.streamForExport()) {
+            return write(comments, out);
+        }
+    }
+
+    private long write(Stream<?> rows, OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        AtomicLong count = new AtomicLong();
+
+        try (SequenceWriter writer = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n")
+                .writeValues(generator)) {
+            rows.forEach(row -> {
+                try {
+                    writer.write(row);
+                    if (count.incrementAndGet() % FLUSH_INTERVAL == 0) {
+                        writer.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            if (count.get() > 0) {
+                generator.writeRaw('\n');
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            generator.close();
+        }
+        return count.get();
+    }
+}
@@ -0,0 +1,280 @@
+package com.example.demo.services;
+
+import com.example.demo.dtos.CommentDTO;
+import com.example.demo.dtos.ImportCommentDTO;
+import com.example.demo.dtos.ImportPostDTO;
+import com.example.demo.dtos.ImportReportDTO;
+import com.example.demo.dtos.PostDTO;
+import com.example.demo.entities.Comment;
+import com.example.demo.entities.Post;
+import com.example.demo.entities.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+@Service
+public class ImportService {
+    public static final int MAX_REJECTIONS = 1000;
+    private static final Logger logger = LoggerFactory.getLogger(ImportService.class);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    @Qualifier("importExecutor")
+    private ExecutorService importExecutor;
+
+    @Value("${app.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.import.threads:4}")
+    private int threads;
+
+    @Value("${app.import.directory:}")
+    private String importDirectory;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    public ImportReportDTO importPosts(String fileName) throws IOException {
+        if (importDirectory == null || importDirectory.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "File imports are disabled");
+        }
+        Path directory = Path.of(importDirectory).toAbsolutePath().normalize();
+        Path file = directory.resolve(fileName).normalize();
+        if (!file.startsWith(directory) || !Files.isRegularFile(file)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No such import file: " + fileName);
+        }
+
+        InputStream in = Files.newInputStream(file);
+        if (fileName.endsWith(".gz")) {
+            try {
+                in = new GZIPInputStream(in, 8192);
+            } catch (IOException e) {
+                in.close();
+                throw e;
+            }
+        }
+        return importPosts(in);
+    }
+
+    public ImportReportDTO importPosts(InputStream in) throws IOException {
+        User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        Progress progress = new Progress();
+        int permits = threads * 2;
+        Semaphore inFlight = new Semaphore(permits);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            List<ImportRecord> chunk = new ArrayList<>(chunkSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                long lineNumber = progress.lines.incrementAndGet();
+                if (line.isBlank()) {
+                    continue;
+                }
+                ImportRecord record = parse(lineNumber, line, progress);
+                if (record == null) {
+                    continue;
+                }
+                chunk.add(record);
+                if (chunk.size() >= chunkSize) {
+                    submit(inFlight, chunk, user.getId(), progress);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                submit(inFlight, chunk, user.getId(), progress);
+            }
+        } finally {
+            inFlight.acquireUninterruptibly(permits);
+        }
+
+        ImportReportDTO report = progress.report();
+        logger.info("Import finished: {} posts, {} comments, {} rejected in {} ms ({} posts/s)",
+                report.getImportedPosts(), report.getImportedComments(), report.getRejected(),
+                report.getElapsedMillis(), Math.round(report.getPostsPerSecond()));
+        return report;
+    }
+
+    private ImportRecord parse(long lineNumber, String line, Progress progress) {
+        ImportPostDTO post;
+        try {
+            post = objectMapper.readValue(line, ImportPostDTO.class);
+        } catch (JsonProcessingException e) {
+            progress.reject("line " + lineNumber + ": malformed JSON: " + e.getOriginalMessage());
+            return null;
+        }
+
+        PostDTO postDTO = new PostDTO(post.getTitle(), post.getContent(), post.getCategories());
+        List<String> errors = new ArrayList<>();
+        for (ConstraintViolation<PostDTO> violation : validator.validate(postDTO)) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        if (!errors.isEmpty()) {
+            progress.reject("line " + lineNumber + ": " + String.join(", ", errors));
+            return null;
+        }
+
+        List<ImportCommentDTO> comments = post.getComments() != null ? post.getComments() : List.of();
+        List<ImportCommentDTO> valid = new ArrayList<>(comments.size());
+        for (int i = 0; i < comments.size(); i++) {
+            ImportCommentDTO comment = comments.get(i);
+            if (comment == null) {
+                progress.reject("line " + lineNumber + ", comment " + i + ": must not be null");
+                continue;
+            }
+            errors.clear();
+            for (ConstraintViolation<CommentDTO> violation :
+                    validator.validateValue(CommentDTO.class, "content", comment.getContent())) {
+                errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+            }
+            if (errors.isEmpty()) {
+                valid.add(comment);
+            } else {
+                progress.reject("line " + lineNumber + ", comment " + i + ": " + String.join(", ", errors));
+            }
+        }
+        post.setComments(valid);
+        return new ImportRecord(lineNumber, post);
+    }
+
+    private void submit(Semaphore inFlight, List<ImportRecord> chunk, UUID authorId, Progress progress)
+            throws InterruptedIOException {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Import interrupted");
+        }
+        importExecutor.execute(() -> {
+            try {
+                write(chunk, authorId, progress);
+            } catch (RuntimeException e) {
+                logger.warn("Import chunk starting at line {} failed", chunk.get(0).line(), e);
+                for (ImportRecord record : chunk) {
+                    progress.reject("line " + record.line() + ": " + e.getMessage());
+                }
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private void write(List<ImportRecord> chunk, UUID authorId, Progress progress) {
+        List<Post> posts = new ArrayList<>(chunk.size());
+        List<Comment> comments = new ArrayList<>();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Instant now = Instant.now();
+            User author = entityManager.getReference(User.class, authorId);
+            int pending = 0;
+            for (ImportRecord record : chunk) {
+                ImportPostDTO dto = record.post();
+                Post post = new Post(dto.getTitle(), dto.getContent(),
+                        dto.getPublishDate() != null ? dto.getPublishDate() : now, dto.getCategories(), author);
+                post.setCommentCount(dto.getComments().size());
+                entityManager.persist(post);
+                posts.add(post);
+                for (ImportCommentDTO commentDTO : dto.getComments()) {
+                    Comment comment = new Comment(commentDTO.getContent(),
+                            commentDTO.getPublishDate() != null ? commentDTO.getPublishDate() : now, post, author);
+                    entityManager.persist(comment);
+                    comments.add(comment);
+                }
+                pending += 1 + dto.getComments().size();
+                if (pending >= batchSize) {
+                    entityManager.flush();
+                    entityManager.clear();
+                    author = entityManager.getReference(User.class, authorId);
+                    pending = 0;
+                }
+            }
+        });
+
+        for (Post post : posts) {
+            searchService.indexPost(post.getId(), post.getTitle(), post.getContent());
+        }
+        for (Comment comment : comments) {
+            searchService.indexComment(comment.getId(), comment.getPost().getId(), comment.getContent());
+        }
+
+        long imported = progress.posts.addAndGet(posts.size());
+        progress.comments.addAndGet(comments.size());
+        logger.info("Imported {} posts ({} posts/s)", imported, Math.round(progress.postsPerSecond()));
+    }
+
+    private record ImportRecord(long line, ImportPostDTO post) {
+    }
+
+    private static class Progress {
+        private final long startedAt = System.nanoTime();
+        private final AtomicLong lines = new AtomicLong();
+        private final AtomicLong posts = new AtomicLong();
+        private final AtomicLong comments = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final List<String> rejections = new ArrayList<>();
+
+        private void reject(String reason) {
+            rejected.incrementAndGet();
+            synchronized (rejections) {
+                if (rejections.size() < MAX_REJECTIONS) {
+                    rejections.add(reason);
+                }
+            }
+        }
+
+        private long elapsedMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        }
+
+        private double postsPerSecond() {
+            return posts.get() * 1000.0 / Math.max(1, elapsedMillis());
+        }
+
+        private ImportReportDTO report() {
+            synchronized (rejections) {
+                return new ImportReportDTO(lines.get(), posts.get(), comments.get(), rejected.get(),
+                        new ArrayList<>(rejections), elapsedMillis(), postsPerSecond());
+            }
+        }
+    }
+}
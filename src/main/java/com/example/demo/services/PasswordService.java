@@ -2,9 +2,11 @@ package com.example.demo.services;
 
 import com.example.demo.entities.User;
 import com.example.demo.repositories.UserRepository;
+import com.example.demo.services.exceptions.ResourceNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 public class PasswordService {
@@ -14,6 +16,9 @@ public class PasswordService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     public String hashPassword(String password) {
         return passwordEncoder.encode(password);
     }
@@ -23,7 +28,13 @@ public class PasswordService {
     }
 
     public void changePassword(User user, String newPassword) {
-        user.setPassword(this.hashPassword(newPassword));
-        userRepository.save(user);
+        String encodedPassword = this.hashPassword(newPassword);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            User entity = userRepository.findById(user.getId())
+                    .orElseThrow(() -> new ResourceNotFoundException(user.getId()));
+            entity.setPassword(encodedPassword);
+        });
+        user.setPassword(encodedPassword);
     }
 }
@@ -1,13 +1,28 @@
 package com.example.demo.services;
 
+import com.example.demo.dtos.AuthorDTO;
+import com.example.demo.dtos.BatchResultDTO;
+import com.example.demo.dtos.CommentViewDTO;
+import com.example.demo.dtos.CursorPageDTO;
 import com.example.demo.dtos.PostDTO;
+import com.example.demo.dtos.PostPatchDTO;
+import com.example.demo.dtos.PostSummaryDTO;
+import com.example.demo.dtos.PostViewDTO;
+import com.example.demo.entities.Comment;
 import com.example.demo.entities.Post;
 import com.example.demo.entities.User;
 import com.example.demo.entities.enums.Role;
+import com.example.demo.repositories.CommentRepository;
 import com.example.demo.repositories.PostRepository;
 import com.example.demo.services.exceptions.DatabaseException;
 import com.example.demo.services.exceptions.ResourceNotFoundException;
+import com.example.demo.services.exceptions.UnauthorizedAccessException;
+import com.example.demo.services.utils.KeysetCursor;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
@@ -15,55 +30,193 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.Instant;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
 
+import static com.example.demo.services.utils.AfterCommit.afterCommit;
+import static com.example.demo.services.utils.checkOwnership.NOT_OWNER_MESSAGE;
 import static com.example.demo.services.utils.checkOwnership.checkOwnership;
 
 @Service
 public class PostService {
+    public static final int MAX_PAGE_SIZE = 50;
+    public static final int MAX_BATCH_SIZE = 100;
+    public static final int DELETE_CHUNK_SIZE = 500;
+    public static final int RECONCILE_CHUNK_SIZE = 1000;
+    private static final Logger logger = LoggerFactory.getLogger(PostService.class);
 
     @Autowired
     private PostRepository postRepository;
 
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private Validator validator;
+
     public Post create(PostDTO post) {
         User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        return postRepository.save(new Post(post.getTitle(), post.getContent(), Instant.now(), post.getCategories(), user));
+        Post result = postRepository.save(new Post(post.getTitle(), post.getContent(), Instant.now(), post.getCategories(), user));
+        afterCommit(() -> {
+            searchService.indexPost(result);
+            trendingService.recordPost(result);
+        });
+        return result;
     }
 
+    @Transactional
+    public List<BatchResultDTO> createBatch(List<PostDTO> posts) {
+        if (posts == null || posts.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The batch must contain at least one post");
+        }
+        if (posts.size() > MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "The batch must contain at most " + MAX_BATCH_SIZE + " posts");
+        }
+
+        User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        Instant now = Instant.now();
+        List<BatchResultDTO> results = new ArrayList<>(posts.size());
+        List<Post> entities = new ArrayList<>(posts.size());
+        Map<Post, BatchResultDTO> created = new IdentityHashMap<>();
+
+        for (int i = 0; i < posts.size(); i++) {
+            PostDTO post = posts.get(i);
+            List<String> errors = new ArrayList<>();
+            if (post == null) {
+                errors.add("post: must not be null");
+            } else {
+                for (ConstraintViolation<PostDTO> violation : validator.validate(post)) {
+                    errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+                }
+            }
+
+            BatchResultDTO result = new BatchResultDTO(i, null, errors.isEmpty() ? "created" : "rejected", errors);
+            results.add(result);
+            if (errors.isEmpty()) {
+                Post entity = new Post(post.getTitle(), post.getContent(), now, post.getCategories(), user);
+                entities.add(entity);
+                created.put(entity, result);
+            }
+        }
+
+        postRepository.saveAll(entities);
+        for (Post entity : entities) {
+            created.get(entity).setId(entity.getId());
+        }
+        afterCommit(() -> {
+            for (Post entity : entities) {
+                searchService.indexPost(entity);
+                trendingService.recordPost(entity);
+            }
+        });
+        return results;
+    }
+
+    @Transactional(readOnly = true)
     public Page<Post> findAll(Integer pageNo, Integer pageSize, String sortBy) {
         Pageable paging = PageRequest.of(pageNo, pageSize, Sort.by(sortBy));
 
         return postRepository.findAll(paging);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageDTO<PostSummaryDTO> findByAuthor(UUID authorId, String cursor, Integer pageSize) {
+        int size = pageSize(pageSize);
+        Pageable limit = PageRequest.of(0, size + 1);
+
+        List<PostSummaryDTO> posts;
+        if (cursor == null || cursor.isBlank()) {
+            posts = postRepository.findSummariesByAuthor(authorId, limit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            posts = postRepository.findSummariesByAuthorBefore(authorId, after.instantKey(), after.id(), limit);
+        }
+
+        String nextCursor = null;
+        if (posts.size() > size) {
+            posts = posts.subList(0, size);
+            PostSummaryDTO last = posts.get(size - 1);
+            nextCursor = KeysetCursor.encode(last.getPublishDate(), last.getId());
+        }
+        return new CursorPageDTO<>(posts, nextCursor);
+    }
+
+    public static int pageSize(Integer pageSize) {
+        return Math.max(1, Math.min(pageSize, MAX_PAGE_SIZE));
+    }
+
+    @Transactional(readOnly = true)
     public Post findById(UUID id) {
         Optional<Post> post = postRepository.findById(id);
         return post.orElseThrow(() -> new ResourceNotFoundException(id));
     }
 
-    public Post update(UUID id, Post obj) {
-        try {
-            Post entity = postRepository.getReferenceById(id);
-            User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-            checkOwnership(user, entity.getAuthor().getId());
-            updateData(entity, obj);
+    @Transactional(readOnly = true)
+    public PostViewDTO findView(UUID id, Integer commentsSize) {
+        Post post = postRepository.findWithAuthorById(id).orElseThrow(() -> new ResourceNotFoundException(id));
+        int size = CommentService.pageSize(commentsSize);
+        List<Comment> comments = commentRepository.findWithAuthorByPost(id, PageRequest.of(0, size + 1));
 
-            return postRepository.save(entity);
-        } catch (EntityNotFoundException e) {
-            throw new ResourceNotFoundException(id);
+        String nextCursor = null;
+        if (comments.size() > size) {
+            comments = comments.subList(0, size);
+            Comment last = comments.get(size - 1);
+            nextCursor = KeysetCursor.encode(last.getPublishDate(), last.getId());
         }
+        List<CommentViewDTO> commentViews = comments.stream()
+                .map(comment -> new CommentViewDTO(comment.getId(), comment.getContent(), comment.getPublishDate(),
+                        comment.getUpvotes(), comment.getReplyCount(), toAuthor(comment.getAuthor())))
+                .toList();
+
+        return new PostViewDTO(post.getId(), post.getTitle(), post.getContent(), post.getPublishDate(),
+                post.getUpvotes(), post.getCommentCount(), post.getCategories(), toAuthor(post.getAuthor()),
+                new CursorPageDTO<>(commentViews, nextCursor));
+    }
+
+    private AuthorDTO toAuthor(User user) {
+        return user != null ? new AuthorDTO(user.getId(), user.getUsername()) : null;
     }
 
-    private void updateData(Post entity, Post obj) {
-        entity.setTitle(obj.getTitle());
-        entity.setContent(obj.getContent());
+    @Transactional
+    public void update(UUID id, PostPatchDTO patch) {
+        if (patch.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Nothing to update");
+        }
+        User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (postRepository.patchByIdAndAuthor(id, user.getId(), patch) == 0) {
+            if (postRepository.existsById(id)) {
+                throw new UnauthorizedAccessException(NOT_OWNER_MESSAGE);
+            }
+            throw new ResourceNotFoundException(id);
+        }
+
+        afterCommit(() -> {
+            searchService.updatePost(id, patch.getTitle(), patch.getContent());
+            if (patch.getTitle() != null) {
+                trendingService.refresh(id, patch.getTitle());
+            }
+        });
     }
 
+    @Transactional
     public void delete(UUID id) {
         try {
             Post entity = postRepository.getReferenceById(id);
@@ -75,14 +228,61 @@ public class PostService {
                 checkOwnership(user, entity.getAuthor().getId());
             }
 
+            commentRepository.deleteByPostId(id);
             postRepository.deleteById(id);
-        } catch (EmptyResultDataAccessException e) {
+            postRepository.flush();
+            afterCommit(() -> {
+                searchService.removePost(id);
+                trendingService.remove(id);
+            });
+        } catch (EntityNotFoundException | EmptyResultDataAccessException e) {
             throw new ResourceNotFoundException(id);
         } catch (DataIntegrityViolationException e) {
             throw new DatabaseException(e.getMessage());
         }
     }
 
+    public int deleteBatch(List<UUID> ids) {
+        List<UUID> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        int deleted = 0;
+
+        for (int from = 0; from < distinctIds.size(); from += DELETE_CHUNK_SIZE) {
+            List<UUID> chunk = distinctIds.subList(from, Math.min(from + DELETE_CHUNK_SIZE, distinctIds.size()));
+            Integer count = transactionTemplate.execute(status -> {
+                commentRepository.deleteByPostIdIn(chunk);
+                return postRepository.deleteByIdIn(chunk);
+            });
+            deleted += count != null ? count : 0;
+
+            for (UUID id : chunk) {
+                searchService.removePost(id);
+                trendingService.remove(id);
+            }
+        }
+        return deleted;
+    }
+
+    @Scheduled(cron = "${app.comment-count.reconcile-cron:0 0 4 * * *}")
+    public int reconcileCommentCounts() {
+        Pageable limit = PageRequest.of(0, RECONCILE_CHUNK_SIZE);
+        List<UUID> ids = postRepository.findIds(limit);
+        int fixed = 0;
+
+        while (!ids.isEmpty()) {
+            List<UUID> chunk = ids;
+            Integer count = transactionTemplate.execute(status -> postRepository.reconcileCommentCounts(chunk));
+            fixed += count != null ? count : 0;
+            ids = chunk.size() < RECONCILE_CHUNK_SIZE
+                    ? List.of()
+                    : postRepository.findIdsAfter(chunk.get(chunk.size() - 1), limit);
+        }
+        if (fixed > 0) {
+            logger.warn("Fixed the comment count of {} posts", fixed);
+        }
+        return fixed;
+    }
+
+    @Transactional
     public boolean increaseUpvote(UUID id) {
         User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
         UUID userId = user.getId();
@@ -92,6 +292,7 @@ public class PostService {
         }
         post.increaseUpvote(userId);
         postRepository.save(post);
+        afterCommit(() -> trendingService.recordUpvote(post));
         return true;
     }
 }
@@ -0,0 +1,235 @@
+package com.example.demo.services;
+
+import com.example.demo.controllers.exceptions.BadRequestException;
+import com.example.demo.dtos.CommentExportDTO;
+import com.example.demo.dtos.PostExportDTO;
+import com.example.demo.dtos.SearchResultDTO;
+import com.example.demo.entities.Comment;
+import com.example.demo.entities.Post;
+import com.example.demo.repositories.CommentRepository;
+import com.example.demo.repositories.PostRepository;
+import com.example.demo.services.search.*;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Service
+public class SearchService {
+    public static final int MAX_PAGE_SIZE = 50;
+    private static final Logger logger = LoggerFactory.getLogger(SearchService.class);
+
+    private final Object changeLock = new Object();
+    private volatile InvertedIndex index = new InvertedIndex();
+    // Changes made while a new index is built, replayed on it before it replaces the live one.
+    private List<Consumer<InvertedIndex>> pendingChanges;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Value("${app.search.index-directory:}")
+    private String indexDirectory;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        SegmentStore store = segmentStore();
+        if (store != null && store.exists()) {
+            try {
+                replaceIndex(fresh -> store.read().forEach(fresh::index));
+                // The segment is only valid until the next change, so a crash before the shutdown flush rebuilds.
+                store.delete();
+                logger.info("Loaded {} documents from the search segment", index.size());
+                return;
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Could not load the search segment, rebuilding the index", e);
+            }
+        }
+        rebuild();
+    }
+
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        try {
+            replaceIndex(fresh -> {
+                try (Stream<PostExportDTO> posts = postRepository.streamForExport()) {
+                    posts.forEach(post -> fresh.index(postDocument(post.getId(), post.getTitle(), post.getContent())));
+                }
+                try (Stream<CommentExportDTO> comments = commentRepository.streamForExport()) {
+                    comments.forEach(comment -> fresh.index(
+                            commentDocument(comment.getId(), comment.getPostId(), comment.getContent())));
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        logger.info("Rebuilt search index with {} documents", index.size());
+    }
+
+    // Searches keep using the live index until the new one is complete.
+    private synchronized void replaceIndex(IndexBuilder builder) throws IOException {
+        synchronized (changeLock) {
+            pendingChanges = new ArrayList<>();
+        }
+        InvertedIndex fresh = new InvertedIndex();
+        try {
+            builder.build(fresh);
+        } catch (IOException | RuntimeException e) {
+            synchronized (changeLock) {
+                pendingChanges = null;
+            }
+            throw e;
+        }
+        synchronized (changeLock) {
+            pendingChanges.forEach(change -> change.accept(fresh));
+            pendingChanges = null;
+            index = fresh;
+        }
+    }
+
+    private void apply(Consumer<InvertedIndex> change) {
+        synchronized (changeLock) {
+            change.accept(index);
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flush() {
+        SegmentStore store = segmentStore();
+        if (store == null) {
+            return;
+        }
+        try {
+            store.write(index.snapshot());
+        } catch (IOException e) {
+            logger.warn("Could not write the search segment", e);
+        }
+    }
+
+    public void indexPost(Post post) {
+        if (post != null) {
+            indexPost(post.getId(), post.getTitle(), post.getContent());
+        }
+    }
+
+    public void indexPost(UUID id, String title, String content) {
+        if (id == null) {
+            return;
+        }
+        IndexedDocument document = postDocument(id, title, content);
+        apply(target -> target.index(document));
+    }
+
+    private static IndexedDocument postDocument(UUID id, String title, String content) {
+        return new IndexedDocument(id, DocumentType.POST, null, List.of(
+                Tokenizer.tokenize(title),
+                Tokenizer.tokenize(content)));
+    }
+
+    public void indexComment(Comment comment) {
+        if (comment != null) {
+            UUID postId = comment.getPost() != null ? comment.getPost().getId() : null;
+            indexComment(comment.getId(), postId, comment.getContent());
+        }
+    }
+
+    public void indexComment(UUID id, UUID postId, String content) {
+        if (id == null) {
+            return;
+        }
+        IndexedDocument document = commentDocument(id, postId, content);
+        apply(target -> target.index(document));
+    }
+
+    private static IndexedDocument commentDocument(UUID id, UUID postId, String content) {
+        return new IndexedDocument(id, DocumentType.COMMENT, postId, List.of(
+                Tokenizer.tokenize(content)));
+    }
+
+    public void updatePost(UUID id, String title, String content) {
+        synchronized (changeLock) {
+            IndexedDocument existing = index.get(id);
+            if (existing == null) {
+                return;
+            }
+            IndexedDocument document = new IndexedDocument(id, DocumentType.POST, null, List.of(
+                    title != null ? Tokenizer.tokenize(title) : existing.fields().get(0),
+                    content != null ? Tokenizer.tokenize(content) : existing.fields().get(1)));
+            apply(target -> target.index(document));
+        }
+    }
+
+    public void updateComment(UUID id, String content) {
+        synchronized (changeLock) {
+            IndexedDocument existing = index.get(id);
+            if (existing == null || content == null) {
+                return;
+            }
+            indexComment(id, existing.postId(), content);
+        }
+    }
+
+    public void remove(UUID id) {
+        apply(target -> target.remove(id));
+    }
+
+    public void removePost(UUID postId) {
+        apply(target -> target.removeWithChildren(postId));
+    }
+
+    public Page<SearchResultDTO> search(String query, Integer pageNo, Integer pageSize) {
+        SearchQuery searchQuery = SearchQuery.parse(query);
+        if (searchQuery.isEmpty()) {
+            throw new BadRequestException("q");
+        }
+
+        Pageable paging = PageRequest.of(Math.max(0, pageNo), Math.max(1, Math.min(pageSize, MAX_PAGE_SIZE)));
+        List<SearchHit> hits = index.search(searchQuery);
+
+        int from = (int) Math.min(paging.getOffset(), hits.size());
+        int to = Math.min(from + paging.getPageSize(), hits.size());
+        List<SearchResultDTO> content = hits.subList(from, to).stream()
+                .map(hit -> new SearchResultDTO(hit.id(), hit.type().name().toLowerCase(Locale.ROOT),
+                        hit.postId(), hit.score()))
+                .toList();
+
+        return new PageImpl<>(content, paging, hits.size());
+    }
+
+    @FunctionalInterface
+    private interface IndexBuilder {
+        void build(InvertedIndex index) throws IOException;
+    }
+
+    private SegmentStore segmentStore() {
+        if (indexDirectory == null || indexDirectory.isBlank()) {
+            return null;
+        }
+        return new SegmentStore(Path.of(indexDirectory));
+    }
+}
@@ -3,6 +3,9 @@ package com.example.demo.services;
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.example.demo.entities.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -11,6 +14,15 @@ import java.util.Date;
 
 @Service
 public class TokenService {
+    private final Timer verifyTimer;
+
+    @Autowired
+    public TokenService(MeterRegistry meterRegistry) {
+        this.verifyTimer = Timer.builder("auth.jwt.verify")
+                .description("Time spent verifying a JWT")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
 
     public String generateToken(User user) {
         return JWT.create()
@@ -24,7 +36,7 @@ public class TokenService {
     }
 
     public String getSubject(String token) {
-        return JWT.require(Algorithm.HMAC256("secret"))
-                .build().verify(token).getSubject();
+        return verifyTimer.record(() -> JWT.require(Algorithm.HMAC256("secret"))
+                .build().verify(token).getSubject());
     }
 }
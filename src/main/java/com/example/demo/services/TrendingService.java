@@ -0,0 +1,240 @@
+package com.example.demo.services;
+
+import com.example.demo.dtos.TrendingPostDTO;
+import com.example.demo.entities.Post;
+import com.example.demo.repositories.PostRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+public class TrendingService {
+    public static final int MAX_RESULTS = 50;
+    private static final double PUBLISH_WEIGHT = 1.0;
+    private static final double UPVOTE_WEIGHT = 1.0;
+    private static final double COMMENT_WEIGHT = 2.0;
+    private static final double MIN_SCORE = 1e-3;
+
+    private final Map<UUID, Entry> entries = new HashMap<>();
+    private final TreeSet<Entry> ranking = new TreeSet<>(Comparator.comparingDouble((Entry e) -> e.score)
+            .reversed()
+            .thenComparing(e -> e.id));
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile List<TrendingPostDTO> top = List.of();
+    private long epochMillis = System.currentTimeMillis();
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Value("${app.trending.capacity:1000}")
+    private int capacity;
+
+    @Value("${app.trending.half-life-hours:12}")
+    private double halfLifeHours;
+
+    @Value("${app.trending.window-days:7}")
+    private int windowDays;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<Post> recent = postRepository.findByPublishDateAfter(Instant.now().minus(Duration.ofDays(windowDays)));
+        lock.lock();
+        try {
+            entries.clear();
+            ranking.clear();
+            epochMillis = System.currentTimeMillis();
+            for (Post post : recent) {
+                track(post);
+            }
+            publish();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<TrendingPostDTO> findTrending(Integer limit) {
+        List<TrendingPostDTO> current = top;
+        return current.subList(0, Math.max(0, Math.min(limit, current.size())));
+    }
+
+    public void recordPost(Post post) {
+        if (post == null || post.getId() == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            track(post);
+            publish();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void recordUpvote(Post post) {
+        if (post == null || post.getId() == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            Entry entry = entries.get(post.getId());
+            if (entry == null) {
+                track(post);
+            } else {
+                entry.upvotes = post.getUpvotes();
+                bump(entry, UPVOTE_WEIGHT, System.currentTimeMillis());
+            }
+            publish();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void recordComment(UUID postId) {
+        if (postId == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            Entry entry = entries.get(postId);
+            if (entry != null) {
+                entry.comments++;
+                bump(entry, COMMENT_WEIGHT, System.currentTimeMillis());
+                publish();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void refresh(Post post) {
+        if (post != null) {
+            refresh(post.getId(), post.getTitle());
+        }
+    }
+
+    public void refresh(UUID postId, String title) {
+        if (postId == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            Entry entry = entries.get(postId);
+            if (entry != null) {
+                entry.title = title;
+                publish();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void remove(UUID postId) {
+        lock.lock();
+        try {
+            Entry entry = entries.remove(postId);
+            if (entry != null) {
+                ranking.remove(entry);
+                publish();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.trending.rebase-interval-ms:3600000}")
+    public void rebase() {
+        lock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            double factor = decay(now - epochMillis);
+            List<Entry> all = new ArrayList<>(ranking);
+            ranking.clear();
+            entries.clear();
+            for (Entry entry : all) {
+                entry.score *= factor;
+                if (entry.score >= MIN_SCORE) {
+                    entries.put(entry.id, entry);
+                    ranking.add(entry);
+                }
+            }
+            epochMillis = now;
+            publish();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void track(Post post) {
+        Entry entry = entries.get(post.getId());
+        if (entry != null) {
+            return;
+        }
+        entry = new Entry(post.getId());
+        entry.title = post.getTitle();
+        entry.publishDate = post.getPublishDate();
+        entry.upvotes = post.getUpvotes();
+        entry.comments = post.getCommentCount();
+        long publishedAt = post.getPublishDate() != null ? post.getPublishDate().toEpochMilli() : System.currentTimeMillis();
+        double weight = PUBLISH_WEIGHT + entry.upvotes * UPVOTE_WEIGHT + entry.comments * COMMENT_WEIGHT;
+        entry.score = weight * growth(publishedAt);
+        entries.put(entry.id, entry);
+        ranking.add(entry);
+
+        while (ranking.size() > capacity) {
+            Entry lowest = ranking.pollLast();
+            entries.remove(lowest.id);
+        }
+    }
+
+    private void bump(Entry entry, double weight, long at) {
+        ranking.remove(entry);
+        entry.score += weight * growth(at);
+        ranking.add(entry);
+    }
+
+    private double growth(long at) {
+        return Math.pow(2, (at - epochMillis) / halfLifeMillis());
+    }
+
+    private double decay(long elapsedMillis) {
+        return Math.pow(2, -elapsedMillis / halfLifeMillis());
+    }
+
+    private double halfLifeMillis() {
+        return halfLifeHours * 3600_000;
+    }
+
+    private void publish() {
+        double factor = decay(System.currentTimeMillis() - epochMillis);
+        List<TrendingPostDTO> result = new ArrayList<>(Math.min(MAX_RESULTS, ranking.size()));
+        for (Entry entry : ranking) {
+            if (result.size() == MAX_RESULTS) {
+                break;
+            }
+            result.add(new TrendingPostDTO(entry.id, entry.title, entry.publishDate, entry.upvotes,
+                    entry.comments, entry.score * factor));
+        }
+        top = Collections.unmodifiableList(result);
+    }
+
+    private static class Entry {
+        private final UUID id;
+        private String title;
+        private Instant publishDate;
+        private int upvotes;
+        private int comments;
+        private double score;
+
+        private Entry(UUID id) {
+            this.id = id;
+        }
+    }
+}
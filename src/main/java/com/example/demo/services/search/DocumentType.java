@@ -0,0 +1,25 @@
+package com.example.demo.services.search;
+
+public enum DocumentType {
+    POST(1),
+    COMMENT(2);
+
+    private int code;
+
+    private DocumentType(int code) {
+        this.code = code;
+    }
+
+    public static DocumentType valueOf(int code) {
+        for (DocumentType value : DocumentType.values()) {
+            if (value.getCode() == code) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Invalid document type code");
+    }
+
+    public int getCode() {
+        return code;
+    }
+}
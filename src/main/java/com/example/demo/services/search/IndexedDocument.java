@@ -0,0 +1,15 @@
+package com.example.demo.services.search;
+
+import java.util.List;
+import java.util.UUID;
+
+public record IndexedDocument(UUID id, DocumentType type, UUID postId, List<List<Tokenizer.Token>> fields) {
+
+    public int length() {
+        int length = 0;
+        for (List<Tokenizer.Token> field : fields) {
+            length += field.size();
+        }
+        return length;
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.demo.services.search;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class InvertedIndex {
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int FIELD_GAP = 100;
+
+    private final Map<UUID, IndexedDocument> documents = new HashMap<>();
+    private final Map<String, Map<UUID, int[]>> postings = new HashMap<>();
+    private final Map<UUID, Set<UUID>> children = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private long totalLength;
+
+    public void index(IndexedDocument document) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(document.id());
+            documents.put(document.id(), document);
+            totalLength += document.length();
+            if (document.postId() != null) {
+                children.computeIfAbsent(document.postId(), k -> new HashSet<>()).add(document.id());
+            }
+
+            Map<String, List<Integer>> positions = new HashMap<>();
+            int offset = 0;
+            for (List<Tokenizer.Token> field : document.fields()) {
+                int span = 0;
+                for (Tokenizer.Token token : field) {
+                    positions.computeIfAbsent(token.term(), k -> new ArrayList<>()).add(offset + token.position());
+                    span = Math.max(span, token.position() + 1);
+                }
+                offset += span + FIELD_GAP;
+            }
+            for (Map.Entry<String, List<Integer>> entry : positions.entrySet()) {
+                int[] termPositions = entry.getValue().stream().mapToInt(Integer::intValue).toArray();
+                postings.computeIfAbsent(entry.getKey(), k -> new HashMap<>()).put(document.id(), termPositions);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeWithChildren(UUID id) {
+        lock.writeLock().lock();
+        try {
+            Set<UUID> childIds = children.remove(id);
+            if (childIds != null) {
+                for (UUID childId : childIds) {
+                    removeInternal(childId);
+                }
+            }
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.clear();
+            children.clear();
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public IndexedDocument get(UUID id) {
+        lock.readLock().lock();
+        try {
+            return documents.get(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<IndexedDocument> snapshot() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(documents.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<SearchHit> search(SearchQuery query) {
+        lock.readLock().lock();
+        try {
+            if (query.isEmpty() || documents.isEmpty()) {
+                return new ArrayList<>();
+            }
+            double averageLength = Math.max(1.0, (double) totalLength / documents.size());
+            Map<UUID, Double> scores = new HashMap<>();
+
+            for (String term : query.terms()) {
+                Map<UUID, int[]> termPostings = postings.get(term);
+                if (termPostings == null) {
+                    continue;
+                }
+                int documentFrequency = termPostings.size();
+                double idf = Math.log(1 + (documents.size() - documentFrequency + 0.5) / (documentFrequency + 0.5));
+                for (Map.Entry<UUID, int[]> posting : termPostings.entrySet()) {
+                    int termFrequency = posting.getValue().length;
+                    int length = documents.get(posting.getKey()).length();
+                    double norm = termFrequency * (K1 + 1)
+                            / (termFrequency + K1 * (1 - B + B * length / averageLength));
+                    scores.merge(posting.getKey(), idf * norm, Double::sum);
+                }
+            }
+
+            List<SearchHit> hits = new ArrayList<>();
+            for (Map.Entry<UUID, Double> entry : scores.entrySet()) {
+                if (!matchesPhrases(entry.getKey(), query.phrases())) {
+                    continue;
+                }
+                IndexedDocument document = documents.get(entry.getKey());
+                hits.add(new SearchHit(document.id(), document.type(), document.postId(), entry.getValue()));
+            }
+            hits.sort(Comparator.comparingDouble(SearchHit::score).reversed()
+                    .thenComparing(SearchHit::id));
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean matchesPhrases(UUID id, List<List<Tokenizer.Token>> phrases) {
+        for (List<Tokenizer.Token> phrase : phrases) {
+            if (!matchesPhrase(id, phrase)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean matchesPhrase(UUID id, List<Tokenizer.Token> phrase) {
+        int[][] termPositions = new int[phrase.size()][];
+        for (int i = 0; i < phrase.size(); i++) {
+            Map<UUID, int[]> termPostings = postings.get(phrase.get(i).term());
+            if (termPostings == null || !termPostings.containsKey(id)) {
+                return false;
+            }
+            termPositions[i] = termPostings.get(id);
+        }
+
+        int first = phrase.get(0).position();
+        for (int start : termPositions[0]) {
+            boolean match = true;
+            for (int i = 1; i < phrase.size() && match; i++) {
+                int expected = start + phrase.get(i).position() - first;
+                match = Arrays.binarySearch(termPositions[i], expected) >= 0;
+            }
+            if (match) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean removeInternal(UUID id) {
+        IndexedDocument existing = documents.remove(id);
+        if (existing == null) {
+            return false;
+        }
+        totalLength -= existing.length();
+        if (existing.postId() != null) {
+            Set<UUID> siblings = children.get(existing.postId());
+            if (siblings != null) {
+                siblings.remove(id);
+                if (siblings.isEmpty()) {
+                    children.remove(existing.postId());
+                }
+            }
+        }
+        for (List<Tokenizer.Token> field : existing.fields()) {
+            for (Tokenizer.Token token : field) {
+                Map<UUID, int[]> termPostings = postings.get(token.term());
+                if (termPostings != null) {
+                    termPostings.remove(id);
+                    if (termPostings.isEmpty()) {
+                        postings.remove(token.term());
+                    }
+                }
+            }
+        }
+        return true;
+    }
+}
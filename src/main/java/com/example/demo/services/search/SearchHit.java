@@ -0,0 +1,6 @@
+package com.example.demo.services.search;
+
+import java.util.UUID;
+
+public record SearchHit(UUID id, DocumentType type, UUID postId, double score) {
+}
@@ -0,0 +1,39 @@
+package com.example.demo.services.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public record SearchQuery(List<String> terms, List<List<Tokenizer.Token>> phrases) {
+
+    public static SearchQuery parse(String query) {
+        List<String> terms = new ArrayList<>();
+        List<List<Tokenizer.Token>> phrases = new ArrayList<>();
+        if (query == null) {
+            return new SearchQuery(terms, phrases);
+        }
+
+        boolean inPhrase = false;
+        int start = 0;
+        for (int i = 0; i <= query.length(); i++) {
+            if (i < query.length() && query.charAt(i) != '"') {
+                continue;
+            }
+            List<Tokenizer.Token> tokens = Tokenizer.tokenize(query.substring(start, i));
+            if (inPhrase && tokens.size() > 1) {
+                phrases.add(tokens);
+            }
+            for (Tokenizer.Token token : tokens) {
+                if (!terms.contains(token.term())) {
+                    terms.add(token.term());
+                }
+            }
+            inPhrase = !inPhrase;
+            start = i + 1;
+        }
+        return new SearchQuery(terms, phrases);
+    }
+
+    public boolean isEmpty() {
+        return terms.isEmpty();
+    }
+}
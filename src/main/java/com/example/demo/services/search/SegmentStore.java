@@ -0,0 +1,107 @@
+package com.example.demo.services.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public class SegmentStore {
+    private static final int MAGIC = 0x424C4753;
+    private static final int VERSION = 1;
+    private static final String SEGMENT_FILE = "segment.idx";
+
+    private final Path directory;
+
+    public SegmentStore(Path directory) {
+        this.directory = directory;
+    }
+
+    public boolean exists() {
+        return Files.isRegularFile(directory.resolve(SEGMENT_FILE));
+    }
+
+    public void write(List<IndexedDocument> documents) throws IOException {
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, "segment", ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(documents.size());
+            for (IndexedDocument document : documents) {
+                writeUuid(out, document.id());
+                out.writeByte(document.type().getCode());
+                out.writeBoolean(document.postId() != null);
+                if (document.postId() != null) {
+                    writeUuid(out, document.postId());
+                }
+                out.writeByte(document.fields().size());
+                for (List<Tokenizer.Token> field : document.fields()) {
+                    out.writeInt(field.size());
+                    for (Tokenizer.Token token : field) {
+                        byte[] term = token.term().getBytes(StandardCharsets.UTF_8);
+                        out.writeInt(token.position());
+                        out.writeShort(term.length);
+                        out.write(term);
+                    }
+                }
+            }
+        }
+
+        Files.move(temp, directory.resolve(SEGMENT_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public List<IndexedDocument> read() throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                Files.newInputStream(directory.resolve(SEGMENT_FILE))))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Unsupported search segment format");
+            }
+
+            int count = in.readInt();
+            List<IndexedDocument> documents = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                UUID id = readUuid(in);
+                DocumentType type = DocumentType.valueOf(in.readByte());
+                UUID postId = in.readBoolean() ? readUuid(in) : null;
+                int fieldCount = in.readByte();
+                List<List<Tokenizer.Token>> fields = new ArrayList<>(fieldCount);
+                for (int f = 0; f < fieldCount; f++) {
+                    int tokenCount = in.readInt();
+                    List<Tokenizer.Token> tokens = new ArrayList<>(tokenCount);
+                    for (int t = 0; t < tokenCount; t++) {
+                        int position = in.readInt();
+                        byte[] term = new byte[in.readShort()];
+                        in.readFully(term);
+                        tokens.add(new Tokenizer.Token(new String(term, StandardCharsets.UTF_8), position));
+                    }
+                    fields.add(tokens);
+                }
+                documents.add(new IndexedDocument(id, type, postId, fields));
+            }
+            return documents;
+        }
+    }
+
+    public void delete() throws IOException {
+        Files.deleteIfExists(directory.resolve(SEGMENT_FILE));
+    }
+
+    private void writeUuid(DataOutputStream out, UUID id) throws IOException {
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+    }
+
+    private UUID readUuid(DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+}
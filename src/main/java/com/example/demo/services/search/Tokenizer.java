@@ -0,0 +1,61 @@
+package com.example.demo.services.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+public final class Tokenizer {
+    private static final int MAX_TOKEN_LENGTH = 40;
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "if", "in", "into", "is", "it",
+            "no", "not", "of", "on", "or", "such", "that", "the", "their", "then", "there", "these",
+            "they", "this", "to", "was", "will", "with"
+    );
+
+    private Tokenizer() {
+    }
+
+    /**
+     * Splits text into lowercase, accent-folded terms. Stop words are dropped but still consume a
+     * position, so phrase queries keep matching the original word distances.
+     */
+    public static List<Token> tokenize(String text, int startPosition) {
+        List<Token> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFD).toLowerCase(Locale.ROOT);
+        StringBuilder current = new StringBuilder();
+        int position = startPosition;
+        for (int i = 0; i <= normalized.length(); i++) {
+            char c = i < normalized.length() ? normalized.charAt(i) : ' ';
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                current.append(c);
+                continue;
+            }
+            if (current.length() > 0) {
+                String term = current.length() > MAX_TOKEN_LENGTH
+                        ? current.substring(0, MAX_TOKEN_LENGTH)
+                        : current.toString();
+                if (!STOP_WORDS.contains(term)) {
+                    tokens.add(new Token(term, position));
+                }
+                position++;
+                current.setLength(0);
+            }
+        }
+        return tokens;
+    }
+
+    public static List<Token> tokenize(String text) {
+        return tokenize(text, 0);
+    }
+
+    public record Token(String term, int position) {
+    }
+}
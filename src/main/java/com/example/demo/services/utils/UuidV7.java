@@ -0,0 +1,36 @@
+package com.example.demo.services.utils;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class UuidV7 {
+    private static final int SEQUENCE_BITS = 12;
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000000000000000L;
+    private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    // Unix milliseconds shifted left by SEQUENCE_BITS, plus the sequence within that millisecond
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private UuidV7() {
+    }
+
+    public static UUID generate() {
+        long now = System.currentTimeMillis() << SEQUENCE_BITS;
+        long last;
+        long next;
+        do {
+            last = LAST.get();
+            next = Math.max(now, last + 1);
+        } while (!LAST.compareAndSet(last, next));
+
+        long mostSigBits = (next >>> SEQUENCE_BITS) << 16 | VERSION | (next & ((1L << SEQUENCE_BITS) - 1));
+        long leastSigBits = ThreadLocalRandom.current().nextLong() & RANDOM_MASK | VARIANT;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    public static long timestamp(UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
@@ -6,9 +6,11 @@ import com.example.demo.services.exceptions.UnauthorizedAccessException;
 import java.util.UUID;
 
 public class checkOwnership {
+    public static final String NOT_OWNER_MESSAGE = "You are not authorized to update this object. It does not belong to you";
+
     public static boolean checkOwnership(User user, UUID objAuthorId) {
         UUID userId = user.getId();
         if (userId.equals(objAuthorId)) return true;
-        throw new UnauthorizedAccessException("You are not authorized to update this object. It does not belong to you");
+        throw new UnauthorizedAccessException(NOT_OWNER_MESSAGE);
     }
 }
@@ -0,0 +1,18 @@
+-- Databases created by ddl-auto=update before V1 are baselined at version 1, so V1 never ran on them.
+-- Add the columns that V1 declares for comment threads and comment counts, then fill them in.
+-- On databases created by V1 the columns already exist and the updates match no rows.
+
+alter table posts add column if not exists comment_count integer default 0 not null;
+
+alter table comments add column if not exists depth integer default 0 not null;
+alter table comments add column if not exists path varchar(528);
+alter table comments add column if not exists reply_count integer default 0 not null;
+alter table comments add column if not exists parent_id uuid constraint fk_comments_parent_id references comments;
+
+update posts set comment_count = (select count(*) from comments c where c.post_id = posts.id)
+where comment_count <> (select count(*) from comments c where c.post_id = posts.id);
+
+-- Comments older than the threads have no parent. Any 16 hex digits make a valid top-level path segment,
+-- and the first 16 of the id are unique enough within a post.
+update comments set path = left(replace(cast(id as varchar), '-', ''), 16), depth = 0
+where path is null;
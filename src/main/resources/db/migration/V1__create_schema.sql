@@ -0,0 +1,58 @@
+create table users (
+    id uuid not null,
+    account_non_locked boolean not null,
+    email varchar(255),
+    failed_attempt integer not null,
+    is_enabled boolean not null,
+    lock_time timestamp(6),
+    password varchar(255),
+    reset_password_token uuid,
+    role smallint check (role between 0 and 1),
+    username varchar(255),
+    primary key (id),
+    constraint uk_users_username unique (username),
+    constraint uk_users_email unique (email)
+);
+
+create table confirmation_token (
+    id uuid not null,
+    confirmation_token uuid,
+    created_date timestamp(6) with time zone,
+    expiry_date timestamp(6) with time zone,
+    user_id uuid not null,
+    primary key (id),
+    constraint uk_confirmation_token_user_id unique (user_id),
+    constraint fk_confirmation_token_user_id foreign key (user_id) references users
+);
+
+create table posts (
+    id uuid not null,
+    categories bytea,
+    comment_count integer default 0 not null,
+    content varchar(255),
+    publish_date timestamp(6) with time zone,
+    title varchar(255),
+    upvotes integer not null,
+    users_upvotes_id bytea,
+    user_id uuid,
+    primary key (id),
+    constraint fk_posts_user_id foreign key (user_id) references users
+);
+
+create table comments (
+    id uuid not null,
+    content varchar(255),
+    depth integer default 0 not null,
+    path varchar(528),
+    publish_date timestamp(6) with time zone,
+    reply_count integer default 0 not null,
+    upvotes integer not null,
+    users_upvotes_id bytea,
+    parent_id uuid,
+    post_id uuid,
+    user_id uuid,
+    primary key (id),
+    constraint fk_comments_parent_id foreign key (parent_id) references comments,
+    constraint fk_comments_post_id foreign key (post_id) references posts,
+    constraint fk_comments_user_id foreign key (user_id) references users
+);
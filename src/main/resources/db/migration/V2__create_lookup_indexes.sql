@@ -0,0 +1,17 @@
+-- Databases created by ddl-auto=update before V1 are baselined at version 1 and may already have
+-- the indexes that were declared on the entities, hence the "if not exists".
+
+create index if not exists idx_users_reset_password_token on users (reset_password_token);
+
+create unique index if not exists idx_confirmation_token_confirmation_token on confirmation_token (confirmation_token);
+
+-- Also serves lookups on posts.user_id alone.
+create index if not exists idx_posts_user_id_publish_date on posts (user_id, publish_date desc, id desc);
+create index if not exists idx_posts_publish_date on posts (publish_date desc, id desc);
+
+-- Also serve lookups on comments.post_id alone.
+create index if not exists idx_comments_post_id_publish_date on comments (post_id, depth, publish_date desc, id desc);
+create index if not exists idx_comments_post_id_upvotes on comments (post_id, depth, upvotes desc, id desc);
+create index if not exists idx_comments_post_id_path on comments (post_id, path);
+create index if not exists idx_comments_user_id on comments (user_id);
+create index if not exists idx_comments_parent_id on comments (parent_id);
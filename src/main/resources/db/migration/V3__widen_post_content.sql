@@ -0,0 +1,3 @@
+-- PostDTO, PostPatchDTO and the import accept up to 1000 characters of content.
+
+alter table posts alter column content set data type varchar(1000);
@@ -0,0 +1,43 @@
+package com.example.demo.config;
+
+import com.example.demo.ApplicationConfigTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("ActuatorSecurityTest")
+@TestPropertySource(properties = "management.endpoints.web.exposure.include=health,prometheus")
+class ActuatorSecurityTest extends ApplicationConfigTest {
+    private static final String PATH = "/actuator/prometheus";
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("should not serve the metrics without a token")
+    void prometheusAnonymous() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("should forbid the metrics for non admin users")
+    void prometheusForbidden() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("should serve the metrics to admins")
+    void prometheusAdmin() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH))
+                .andExpect(status().isOk());
+    }
+}
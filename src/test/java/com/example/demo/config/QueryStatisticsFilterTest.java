@@ -0,0 +1,66 @@
+package com.example.demo.config;
+
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("QueryStatisticsFilterTest")
+class QueryStatisticsFilterTest {
+    private QueryStatisticsFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setup() {
+        filter = new QueryStatisticsFilter();
+        ReflectionTestUtils.setField(filter, "slowQueryThresholdMillis", 200L);
+        request = new MockHttpServletRequest("GET", "/posts");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    @DisplayName("should add the statement count and time of the request as headers")
+    void queryCountHeader() throws ServletException, IOException {
+        filter.doFilter(request, response, (req, res) -> {
+            QueryStatistics statistics = QueryStatistics.current();
+            String previous = statistics.enterRepository("PostRepository.findAll");
+            statistics.record(TimeUnit.MILLISECONDS.toNanos(3));
+            statistics.record(TimeUnit.MILLISECONDS.toNanos(4));
+            statistics.exitRepository(previous);
+            statistics.record(TimeUnit.MILLISECONDS.toNanos(1));
+            assertThat(statistics.getRepositories()).isEqualTo("PostRepository.findAll=2/7ms");
+            res.getWriter().write("[]");
+            res.flushBuffer();
+        });
+
+        assertThat(response.getHeader(QueryStatisticsFilter.QUERY_COUNT_HEADER)).isEqualTo("3");
+        assertThat(response.getHeader(QueryStatisticsFilter.QUERY_TIME_HEADER)).isEqualTo("8");
+        assertThat(QueryStatistics.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("should add the headers when the response has no body")
+    void queryCountHeaderWithoutBody() throws ServletException, IOException {
+        filter.doFilter(request, response, (req, res) -> QueryStatistics.current().record(1));
+
+        assertThat(response.getHeader(QueryStatisticsFilter.QUERY_COUNT_HEADER)).isEqualTo("1");
+    }
+
+    @Test
+    @DisplayName("should not count statements outside of a request")
+    void noRequest() {
+        new QueryStatisticsInspector().inspect("select 1");
+        new QueryTimingListener().jdbcExecuteStatementEnd();
+
+        assertThat(QueryStatistics.current()).isNull();
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.demo.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ReplicaRoutingDataSourceTest")
+class ReplicaRoutingDataSourceTest {
+    private static final String USERNAME = "user";
+    private ReadYourWritesTracker tracker;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setup() {
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+        tracker = new ReadYourWritesTracker();
+        ReflectionTestUtils.setField(tracker, "stickinessMillis", 60000L);
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica, tracker));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void clear() {
+        tracker.clear();
+    }
+
+    @Test
+    @DisplayName("should send read-only transactions to the replica")
+    void readOnlyGoesToReplica() {
+        assertThat(readOnly.execute(status -> currentDatabase())).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("should send read-write transactions and non transactional calls to the primary")
+    void readWriteGoesToPrimary() {
+        assertThat(readWrite.execute(status -> currentDatabase())).isEqualTo("primary");
+        assertThat(currentDatabase()).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("should keep a user on the primary after their own write")
+    void readYourWrites() {
+        tracker.bind(USERNAME);
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE marker SET name = name"));
+
+        assertThat(readOnly.execute(status -> currentDatabase())).isEqualTo("primary");
+
+        tracker.bind("other");
+        assertThat(readOnly.execute(status -> currentDatabase())).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("should not stick after a rolled back write")
+    void rollbackIsNotSticky() {
+        tracker.bind(USERNAME);
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE marker SET name = name");
+            status.setRollbackOnly();
+        });
+
+        assertThat(readOnly.execute(status -> currentDatabase())).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("should go back to the replica once the stickiness expires")
+    void stickinessExpires() {
+        ReflectionTestUtils.setField(tracker, "stickinessMillis", 0L);
+        tracker.bind(USERNAME);
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE marker SET name = name"));
+
+        assertThat(readOnly.execute(status -> currentDatabase())).isEqualTo("replica");
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("SELECT name FROM marker", String.class);
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS marker (name VARCHAR(20))");
+        jdbcTemplate.update("DELETE FROM marker");
+        jdbcTemplate.update("INSERT INTO marker (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.demo.config;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TimedPasswordEncoderTest")
+class TimedPasswordEncoderTest {
+    private SimpleMeterRegistry meterRegistry;
+    private TimedPasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        passwordEncoder = new TimedPasswordEncoder(new BCryptPasswordEncoder(4), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("should hash and match like the delegate while recording each call")
+    void encodeAndMatches() {
+        String hash = passwordEncoder.encode("password");
+
+        assertThat(passwordEncoder.matches("password", hash)).isTrue();
+        assertThat(passwordEncoder.matches("wrong", hash)).isFalse();
+        assertThat(timer("encode").count()).isEqualTo(1);
+        assertThat(timer("matches").count()).isEqualTo(2);
+    }
+
+    private Timer timer(String operation) {
+        return meterRegistry.get("auth.password.hash").tag("operation", operation).timer();
+    }
+}
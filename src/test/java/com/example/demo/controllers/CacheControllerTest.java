@@ -0,0 +1,72 @@
+package com.example.demo.controllers;
+
+import com.example.demo.ApplicationConfigTest;
+import com.example.demo.dtos.CacheRegionStatisticsDTO;
+import com.example.demo.services.CacheStatisticsService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("CacheControllerTest")
+class CacheControllerTest extends ApplicationConfigTest {
+    private static final String PATH = "/cache/statistics";
+    CacheRegionStatisticsDTO REGION_RECORD = new CacheRegionStatisticsDTO("users", 9, 1, 1, 1, 0.9);
+    @MockBean
+    private CacheStatisticsService cacheStatisticsService;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("should return the statistics of each cache region")
+    void findStatistics() throws Exception {
+        when(cacheStatisticsService.findAll()).thenReturn(Collections.singletonList(REGION_RECORD));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get(PATH)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].region", is("users")))
+                .andExpect(jsonPath("$[0].hits", is(9)));
+
+        verify(cacheStatisticsService, times(1)).findAll();
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("should forbid the statistics for non admin users")
+    void findStatisticsForbidden() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get(PATH)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isForbidden());
+
+        verify(cacheStatisticsService, never()).findAll();
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("should clear the statistics for admin users")
+    void clearStatistics() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders
+                        .delete(PATH)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNoContent());
+
+        verify(cacheStatisticsService, times(1)).clear();
+    }
+}
@@ -2,6 +2,8 @@ package com.example.demo.controllers;
 
 import com.example.demo.ApplicationConfigTest;
 import com.example.demo.dtos.CommentDTO;
+import com.example.demo.dtos.CommentPatchDTO;
+import com.example.demo.dtos.ThreadCommentDTO;
 import com.example.demo.entities.Comment;
 import com.example.demo.entities.Post;
 import com.example.demo.entities.User;
@@ -97,7 +99,7 @@ class CommentControllerTest extends ApplicationConfigTest {
     void findAll() throws Exception {
         List<Comment> comments = new ArrayList<>(Collections.singletonList(COMMENT_RECORD));
 
-        when(commentService.findAll()).thenReturn(comments);
+        when(commentService.findAll(anyInt(), anyInt())).thenReturn(comments);
 
         mockMvc.perform(MockMvcRequestBuilders
                         .get(PATH)
@@ -106,7 +108,30 @@ class CommentControllerTest extends ApplicationConfigTest {
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].content", is(COMMENT_RECORD.getContent())));
 
-        verify(commentService, times(1)).findAll();
+        verify(commentService, times(1)).findAll(0, 50);
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("should return a comment thread")
+    void findThread() throws Exception {
+        UUID id = UUID.randomUUID();
+        ThreadCommentDTO root = new ThreadCommentDTO(id, "root", Instant.now(), 0, UUID.randomUUID(), 0, 1, "0000000000a00001");
+        root.getReplies().add(new ThreadCommentDTO(UUID.randomUUID(), "reply", Instant.now(), 0, UUID.randomUUID(), 1, 0,
+                "0000000000a000010000000000b00002"));
+        when(commentService.findThread(any(UUID.class), any())).thenReturn(root);
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get(PATH + "/" + id + "/thread")
+                        .param("depth", "2")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", is("root")))
+                .andExpect(jsonPath("$.path").doesNotExist())
+                .andExpect(jsonPath("$.replies", hasSize(1)))
+                .andExpect(jsonPath("$.replies[0].content", is("reply")));
+
+        verify(commentService, times(1)).findThread(id, 2);
     }
 
     @Test
@@ -148,38 +173,36 @@ class CommentControllerTest extends ApplicationConfigTest {
     @WithMockUser
     @DisplayName("should update a comment")
     void update() throws Exception {
-        Comment updatedComment = new Comment("new content", Instant.now(), POST_RECORD, USER_RECORD);
+        CommentPatchDTO patch = CommentPatchDTO.builder().content("new content").build();
 
-        when(commentService.update(any(UUID.class), any(Comment.class))).thenReturn(updatedComment);
+        doNothing().when(commentService).update(any(UUID.class), any(CommentPatchDTO.class));
 
         MockHttpServletRequestBuilder mockRequest = MockMvcRequestBuilders
                 .patch(PATH + "/" + UUID.randomUUID().toString())
                 .contentType(MediaType.APPLICATION_JSON)
                 .accept(MediaType.APPLICATION_JSON)
-                .content(this.objectMapper.writeValueAsString(updatedComment));
+                .content(this.objectMapper.writeValueAsString(patch));
 
         mockMvc.perform(mockRequest)
-                .andExpect(status().isOk())
-                .andExpect(jsonPath("$", notNullValue()))
-                .andExpect(jsonPath("$.content", is(updatedComment.getContent())));
+                .andExpect(status().isNoContent());
 
-        verify(commentService, times(1)).update(any(UUID.class), any(Comment.class));
+        verify(commentService, times(1)).update(any(UUID.class), any(CommentPatchDTO.class));
     }
 
     @Test
     @WithMockUser
     @DisplayName("should throw UnauthorizedAccessException for invalid checkOwnership")
     void updateUnauthorizedAccessException() throws Exception {
-        Comment updatedComment = new Comment("new content", Instant.now(), POST_RECORD, USER_RECORD);
+        CommentPatchDTO patch = CommentPatchDTO.builder().content("new content").build();
 
-        when(commentService.update(any(UUID.class), any(Comment.class)))
-                .thenThrow(new UnauthorizedAccessException("You are not authorized to update this object. It does not belong to you"));
+        doThrow(new UnauthorizedAccessException("You are not authorized to update this object. It does not belong to you"))
+                .when(commentService).update(any(UUID.class), any(CommentPatchDTO.class));
 
         MockHttpServletRequestBuilder mockRequest = MockMvcRequestBuilders
                 .patch(PATH + "/" + UUID.randomUUID().toString())
                 .contentType(MediaType.APPLICATION_JSON)
                 .accept(MediaType.APPLICATION_JSON)
-                .content(this.objectMapper.writeValueAsString(updatedComment));
+                .content(this.objectMapper.writeValueAsString(patch));
 
         mockMvc.perform(mockRequest)
                 .andExpect(status().isForbidden())
@@ -189,7 +212,7 @@ class CommentControllerTest extends ApplicationConfigTest {
                         assertEquals("You are not authorized to update this object. It does not belong to you", Objects.requireNonNull(result.getResolvedException()).getMessage()));
 
 
-        verify(commentService, times(1)).update(any(UUID.class), any(Comment.class));
+        verify(commentService, times(1)).update(any(UUID.class), any(CommentPatchDTO.class));
     }
 
     @Test
@@ -0,0 +1,86 @@
+package com.example.demo.controllers;
+
+import com.example.demo.ApplicationConfigTest;
+import com.example.demo.services.ExportService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("ExportControllerTest")
+class ExportControllerTest extends ApplicationConfigTest {
+    private static final String PATH = "/export";
+    private static final String LINE = "{\"id\":\"1\"}\n";
+    @MockBean
+    private ExportService exportService;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("should stream posts as NDJSON")
+    void exportPosts() throws Exception {
+        when(exportService.exportPosts(any(OutputStream.class))).thenAnswer(invocation -> {
+            invocation.getArgument(0, OutputStream.class).write(LINE.getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get(PATH + "/posts"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(content().string(LINE));
+
+        verify(exportService, times(1)).exportPosts(any(OutputStream.class));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("should gzip the comments export when requested")
+    void exportCommentsGzip() throws Exception {
+        when(exportService.exportComments(any(OutputStream.class))).thenAnswer(invocation -> {
+            invocation.getArgument(0, OutputStream.class).write(LINE.getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get(PATH + "/comments").param("gzip", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(LINE);
+        }
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("should forbid exports for non admin users")
+    void exportForbidden() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH + "/posts"))
+                .andExpect(status().isForbidden());
+
+        verify(exportService, never()).exportPosts(any(OutputStream.class));
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.demo.controllers;
+
+import com.example.demo.ApplicationConfigTest;
+import com.example.demo.dtos.ImportReportDTO;
+import com.example.demo.services.ImportService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("ImportControllerTest")
+class ImportControllerTest extends ApplicationConfigTest {
+    private static final String PATH = "/import/posts";
+    private static final String LINE = "{\"title\":\"title\"}\n";
+    ImportReportDTO REPORT_RECORD = new ImportReportDTO(1, 1, 0, 0, List.of(), 10, 100);
+    @MockBean
+    private ImportService importService;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("should import an NDJSON body and return the report")
+    void importPosts() throws Exception {
+        when(importService.importPosts(any(InputStream.class))).thenAnswer(invocation -> {
+            assertThat(new String(invocation.getArgument(0, InputStream.class).readAllBytes(), StandardCharsets.UTF_8))
+                    .isEqualTo(LINE);
+            return REPORT_RECORD;
+        });
+
+        mockMvc.perform(MockMvcRequestBuilders.post(PATH)
+                        .contentType("application/x-ndjson")
+                        .content(LINE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importedPosts").value(1));
+
+        verify(importService, times(1)).importPosts(any(InputStream.class));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("should decompress a gzipped body")
+    void importPostsGzip() throws Exception {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(body)) {
+            out.write(LINE.getBytes(StandardCharsets.UTF_8));
+        }
+        when(importService.importPosts(any(InputStream.class))).thenAnswer(invocation -> {
+            assertThat(new String(invocation.getArgument(0, InputStream.class).readAllBytes(), StandardCharsets.UTF_8))
+                    .isEqualTo(LINE);
+            return REPORT_RECORD;
+        });
+
+        mockMvc.perform(MockMvcRequestBuilders.post(PATH)
+                        .contentType("application/gzip")
+                        .content(body.toByteArray()))
+                .andExpect(status().isOk());
+
+        verify(importService, times(1)).importPosts(any(InputStream.class));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("should import a file from the import directory")
+    void importPostsFromFile() throws Exception {
+        when(importService.importPosts("posts.ndjson.gz")).thenReturn(REPORT_RECORD);
+
+        mockMvc.perform(MockMvcRequestBuilders.post(PATH + "/file")
+                        .param("name", "posts.ndjson.gz"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importedPosts").value(1));
+
+        verify(importService, times(1)).importPosts("posts.ndjson.gz");
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("should forbid imports for non admin users")
+    void importForbidden() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post(PATH)
+                        .contentType("application/x-ndjson")
+                        .content(LINE))
+                .andExpect(status().isForbidden());
+
+        verify(importService, never()).importPosts(any(InputStream.class));
+    }
+}
@@ -1,12 +1,22 @@
 package com.example.demo.controllers;
 
 import com.example.demo.ApplicationConfigTest;
+import com.example.demo.dtos.AuthorDTO;
+import com.example.demo.dtos.BatchResultDTO;
+import com.example.demo.dtos.CommentSummaryDTO;
+import com.example.demo.dtos.CommentViewDTO;
+import com.example.demo.dtos.CursorPageDTO;
 import com.example.demo.dtos.PostDTO;
+import com.example.demo.dtos.PostPatchDTO;
+import com.example.demo.dtos.PostViewDTO;
+import com.example.demo.dtos.TrendingPostDTO;
 import com.example.demo.entities.Post;
 import com.example.demo.entities.User;
 import com.example.demo.entities.enums.PostCategory;
 import com.example.demo.entities.enums.Role;
+import com.example.demo.services.CommentService;
 import com.example.demo.services.PostService;
+import com.example.demo.services.TrendingService;
 import com.example.demo.services.exceptions.ResourceNotFoundException;
 import com.example.demo.services.exceptions.UnauthorizedAccessException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -44,6 +54,10 @@ class PostControllerTest extends ApplicationConfigTest {
     Post POST_RECORD = new Post(POST_DTO_RECORD.getTitle(), POST_DTO_RECORD.getContent(), Instant.now(), CATEGORIES_RECORD, USER_RECORD);
     @MockBean
     private PostService postService;
+    @MockBean
+    private TrendingService trendingService;
+    @MockBean
+    private CommentService commentService;
     @Autowired
     private MockMvc mockMvc;
     @Autowired
@@ -87,6 +101,31 @@ class PostControllerTest extends ApplicationConfigTest {
                         assertTrue(result.getResolvedException() instanceof MethodArgumentNotValidException));
     }
 
+    @Test
+    @WithMockUser()
+    @DisplayName("should create a batch of posts")
+    void createPosts() throws Exception {
+        UUID id = UUID.randomUUID();
+        List<BatchResultDTO> results = Arrays.asList(
+                new BatchResultDTO(0, id, "created", Collections.emptyList()),
+                new BatchResultDTO(1, null, "rejected", Collections.singletonList("title: must not be blank")));
+        when(postService.createBatch(anyList())).thenReturn(results);
+
+        MockHttpServletRequestBuilder mockRequest = MockMvcRequestBuilders
+                .post(PATH + "/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(Arrays.asList(POST_DTO_RECORD, new PostDTO())));
+
+        mockMvc.perform(mockRequest)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id", is(id.toString())))
+                .andExpect(jsonPath("$[1].status", is("rejected")));
+
+        verify(postService, times(1)).createBatch(anyList());
+    }
+
     @Test
     @WithMockUser()
     @DisplayName("should return a list of posts")
@@ -146,6 +185,47 @@ class PostControllerTest extends ApplicationConfigTest {
         verify(postService, times(1)).findAll(anyInt(), anyInt(), anyString());
     }
 
+    @Test
+    @WithMockUser
+    @DisplayName("should return a page of the comments of a post")
+    void findComments() throws Exception {
+        UUID postId = UUID.randomUUID();
+        CommentSummaryDTO comment = new CommentSummaryDTO(UUID.randomUUID(), "content", Instant.now(), 2, UUID.randomUUID(), 0);
+        when(commentService.findByPost(any(UUID.class), anyString(), any(), anyInt()))
+                .thenReturn(new CursorPageDTO<>(Collections.singletonList(comment), "next"));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get(PATH + "/" + postId + "/comments")
+                        .param("order", "top")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].content", is(comment.getContent())))
+                .andExpect(jsonPath("$.nextCursor", is("next")));
+
+        verify(commentService, times(1)).findByPost(postId, "top", null, 10);
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("should return the trending posts")
+    void findTrending() throws Exception {
+        TrendingPostDTO trendingPost = new TrendingPostDTO(UUID.randomUUID(), POST_RECORD.getTitle(),
+                POST_RECORD.getPublishDate(), 3, 1, 4.2);
+        when(trendingService.findTrending(anyInt())).thenReturn(Collections.singletonList(trendingPost));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get(PATH + "/trending")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title", is(POST_RECORD.getTitle())))
+                .andExpect(jsonPath("$[0].upvotes").value(3));
+
+        verify(trendingService, times(1)).findTrending(10);
+        verify(postService, never()).findById(any(UUID.class));
+    }
+
     @Test
     @WithMockUser
     @DisplayName("should return a post")
@@ -161,6 +241,29 @@ class PostControllerTest extends ApplicationConfigTest {
         verify(postService, times(1)).findById(any(UUID.class));
     }
 
+    @Test
+    @WithMockUser
+    @DisplayName("should return a post with its first comments and authors")
+    void findView() throws Exception {
+        UUID id = UUID.randomUUID();
+        AuthorDTO author = new AuthorDTO(UUID.randomUUID(), "author");
+        CommentViewDTO comment = new CommentViewDTO(UUID.randomUUID(), "content", Instant.now(), 0, 0, author);
+        PostViewDTO view = new PostViewDTO(id, POST_RECORD.getTitle(), POST_RECORD.getContent(), Instant.now(), 0, 1,
+                CATEGORIES_RECORD, author, new CursorPageDTO<>(Collections.singletonList(comment), null));
+        when(postService.findView(any(UUID.class), anyInt())).thenReturn(view);
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get(PATH + "/" + id + "/full")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", is(POST_RECORD.getTitle())))
+                .andExpect(jsonPath("$.author.username", is("author")))
+                .andExpect(jsonPath("$.comments.content", hasSize(1)))
+                .andExpect(jsonPath("$.comments.content[0].author.username", is("author")));
+
+        verify(postService, times(1)).findView(id, 10);
+    }
+
     @Test
     @WithMockUser
     @DisplayName("should throw ResourceNotFoundException for invalid id")
@@ -184,37 +287,55 @@ class PostControllerTest extends ApplicationConfigTest {
     @WithMockUser
     @DisplayName("should update a post")
     void update() throws Exception {
-        Post updatedPost = new Post("new title", "contentmusthaveatleast30characters", Instant.now(), CATEGORIES_RECORD, USER_RECORD);
+        PostPatchDTO patch = PostPatchDTO.builder().title("new title").build();
 
-        when(postService.update(any(UUID.class), any(Post.class))).thenReturn(updatedPost);
+        doNothing().when(postService).update(any(UUID.class), any(PostPatchDTO.class));
 
         MockHttpServletRequestBuilder mockRequest = MockMvcRequestBuilders
                 .patch(PATH + "/" + UUID.randomUUID().toString())
                 .contentType(MediaType.APPLICATION_JSON)
                 .accept(MediaType.APPLICATION_JSON)
-                .content(this.objectMapper.writeValueAsString(updatedPost));
+                .content(this.objectMapper.writeValueAsString(patch));
 
         mockMvc.perform(mockRequest)
-                .andExpect(status().isOk())
-                .andExpect(jsonPath("$", notNullValue()))
-                .andExpect(jsonPath("$.title", is(updatedPost.getTitle())));
+                .andExpect(status().isNoContent());
 
-        verify(postService, times(1)).update(any(UUID.class), any(Post.class));
+        verify(postService, times(1)).update(any(UUID.class), argThat(p -> "new title".equals(p.getTitle()) && p.getContent() == null));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("should return bad request for an invalid patch")
+    void updateInvalidPatch() throws Exception {
+        PostPatchDTO patch = PostPatchDTO.builder().title("   ").build();
+
+        MockHttpServletRequestBuilder mockRequest = MockMvcRequestBuilders
+                .patch(PATH + "/" + UUID.randomUUID().toString())
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(patch));
+
+        mockMvc.perform(mockRequest)
+                .andExpect(status().isBadRequest())
+                .andExpect(result ->
+                        assertTrue(result.getResolvedException() instanceof MethodArgumentNotValidException));
+
+        verify(postService, never()).update(any(UUID.class), any(PostPatchDTO.class));
     }
 
     @Test
     @WithMockUser
     @DisplayName("should throw UnauthorizedAccessException for invalid checkOwnership")
     void updateUnauthorizedAccessException() throws Exception {
-        Post updatedPost = new Post("new title", "contentmusthaveatleast30characters", Instant.now(), CATEGORIES_RECORD, USER_RECORD);
-        when(postService.update(any(UUID.class), any(Post.class)))
-                .thenThrow(new UnauthorizedAccessException("You are not authorized to update this object. It does not belong to you"));
+        PostPatchDTO patch = PostPatchDTO.builder().title("new title").build();
+        doThrow(new UnauthorizedAccessException("You are not authorized to update this object. It does not belong to you"))
+                .when(postService).update(any(UUID.class), any(PostPatchDTO.class));
 
         MockHttpServletRequestBuilder mockRequest = MockMvcRequestBuilders
                 .patch(PATH + "/" + UUID.randomUUID().toString())
                 .contentType(MediaType.APPLICATION_JSON)
                 .accept(MediaType.APPLICATION_JSON)
-                .content(this.objectMapper.writeValueAsString(updatedPost));
+                .content(this.objectMapper.writeValueAsString(patch));
 
         mockMvc.perform(mockRequest)
                 .andExpect(status().isForbidden())
@@ -224,7 +345,7 @@ class PostControllerTest extends ApplicationConfigTest {
                         assertEquals("You are not authorized to update this object. It does not belong to you", Objects.requireNonNull(result.getResolvedException()).getMessage()));
 
 
-        verify(postService, times(1)).update(any(UUID.class), any(Post.class));
+        verify(postService, times(1)).update(any(UUID.class), any(PostPatchDTO.class));
     }
 
     @Test
@@ -261,6 +382,36 @@ class PostControllerTest extends ApplicationConfigTest {
         verify(postService, times(1)).delete(any(UUID.class));
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("should delete a list of posts")
+    void deletePosts() throws Exception {
+        List<UUID> ids = Arrays.asList(UUID.randomUUID(), UUID.randomUUID());
+        when(postService.deleteBatch(anyList())).thenReturn(2);
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .post(PATH + "/bulk-delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.objectMapper.writeValueAsString(ids)))
+                .andExpect(status().isOk())
+                .andExpect(content().string("2"));
+
+        verify(postService, times(1)).deleteBatch(ids);
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("should forbid bulk deletion for non admin users")
+    void deletePostsForbidden() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders
+                        .post(PATH + "/bulk-delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.objectMapper.writeValueAsString(Collections.singletonList(UUID.randomUUID()))))
+                .andExpect(status().isForbidden());
+
+        verify(postService, never()).deleteBatch(anyList());
+    }
+
     @Test
     @WithMockUser
     @DisplayName("should increase the upvote")
@@ -0,0 +1,221 @@
+package com.example.demo.controllers;
+
+import com.example.demo.config.ReactiveServerConfig;
+import com.example.demo.dtos.CommentSummaryDTO;
+import com.example.demo.dtos.CursorPageDTO;
+import com.example.demo.dtos.PostSummaryDTO;
+import com.example.demo.dtos.PostViewDTO;
+import com.example.demo.entities.User;
+import com.example.demo.entities.enums.PostCategory;
+import com.example.demo.entities.enums.Role;
+import com.example.demo.repositories.ReactiveCommentRepository;
+import com.example.demo.repositories.ReactivePostRepository;
+import com.example.demo.services.TokenService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.ConnectionFactories;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ReactivePostHandlerTest")
+class ReactivePostHandlerTest {
+    private static final Instant NOW = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final UUID POST_ID = UUID.randomUUID();
+    private static final UUID OLDER_POST_ID = UUID.randomUUID();
+    private static final UUID COMMENT_ID = UUID.randomUUID();
+    private static final UUID TOP_COMMENT_ID = UUID.randomUUID();
+
+    private DatabaseClient databaseClient;
+    private WebTestClient client;
+    private String token;
+
+    @BeforeEach
+    void setup() throws IOException {
+        databaseClient = DatabaseClient.create(ConnectionFactories.get(
+                "r2dbc:h2:mem:///" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1"));
+        execute("CREATE TABLE users (id UUID PRIMARY KEY, username VARCHAR(255))");
+        execute("CREATE TABLE posts (id UUID PRIMARY KEY, title VARCHAR(255), content VARCHAR(1000), " +
+                "publish_date TIMESTAMP WITH TIME ZONE, upvotes INT NOT NULL, comment_count INT NOT NULL, " +
+                "categories VARBINARY(255), user_id UUID)");
+        execute("CREATE TABLE comments (id UUID PRIMARY KEY, content VARCHAR(255), " +
+                "publish_date TIMESTAMP WITH TIME ZONE, upvotes INT NOT NULL, reply_count INT NOT NULL, " +
+                "depth INT NOT NULL, post_id UUID, user_id UUID)");
+
+        execute("INSERT INTO users (id, username) VALUES ('" + USER_ID + "', 'user')");
+        insertPost(POST_ID, "newest", NOW);
+        insertPost(OLDER_POST_ID, "oldest", NOW.minusSeconds(60));
+        insertComment(COMMENT_ID, NOW, 0, 0);
+        insertComment(TOP_COMMENT_ID, NOW.minusSeconds(60), 5, 0);
+        insertComment(UUID.randomUUID(), NOW.plusSeconds(60), 10, 1);
+
+        TokenService tokenService = new TokenService(new SimpleMeterRegistry());
+        User user = new User("user", "user@email.com", "password", Role.ROLE_USER);
+        ReflectionTestUtils.setField(user, "id", USER_ID);
+        token = tokenService.generateToken(user);
+
+        ReactivePostHandler handler = new ReactivePostHandler(new ReactivePostRepository(databaseClient, 100),
+                new ReactiveCommentRepository(databaseClient), tokenService);
+        client = WebTestClient.bindToRouterFunction(ReactiveServerConfig.routes(handler)).build();
+    }
+
+    @Test
+    @DisplayName("should list the posts newest first with a cursor to the next page")
+    void findAll() {
+        CursorPageDTO<PostSummaryDTO> first = get("/posts?pageSize=1")
+                .expectStatus().isOk()
+                .expectBody(new ParameterizedTypeReference<CursorPageDTO<PostSummaryDTO>>() {
+                })
+                .returnResult().getResponseBody();
+
+        assertThat(first.getContent()).extracting(PostSummaryDTO::getId).containsExactly(POST_ID);
+        assertThat(first.getNextCursor()).isNotNull();
+
+        CursorPageDTO<PostSummaryDTO> second = get("/posts?pageSize=1&cursor=" + first.getNextCursor())
+                .expectStatus().isOk()
+                .expectBody(new ParameterizedTypeReference<CursorPageDTO<PostSummaryDTO>>() {
+                })
+                .returnResult().getResponseBody();
+
+        assertThat(second.getContent()).extracting(PostSummaryDTO::getId).containsExactly(OLDER_POST_ID);
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("should stream the posts as newline delimited JSON")
+    void streamAll() {
+        List<PostSummaryDTO> posts = client.get().uri("/posts?limit=10")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(PostSummaryDTO.class)
+                .returnResult().getResponseBody();
+
+        assertThat(posts).extracting(PostSummaryDTO::getId).containsExactly(POST_ID, OLDER_POST_ID);
+    }
+
+    @Test
+    @DisplayName("should return a post with its author, categories and first page of comments")
+    void findById() {
+        PostViewDTO post = get("/posts/" + POST_ID + "?commentsSize=1")
+                .expectStatus().isOk()
+                .expectBody(PostViewDTO.class)
+                .returnResult().getResponseBody();
+
+        assertThat(post.getTitle()).isEqualTo("newest");
+        assertThat(post.getPublishDate()).isEqualTo(NOW);
+        assertThat(post.getCategories()).containsExactly(PostCategory.technology);
+        assertThat(post.getAuthor().getUsername()).isEqualTo("user");
+        assertThat(post.getComments().getContent()).extracting("id").containsExactly(COMMENT_ID);
+        assertThat(post.getComments().getNextCursor()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("should return 404 for an unknown post")
+    void findByIdNotFound() {
+        get("/posts/" + UUID.randomUUID())
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.error").isEqualTo("Resource not found");
+    }
+
+    @Test
+    @DisplayName("should list the top level comments by upvotes")
+    void findComments() {
+        CursorPageDTO<CommentSummaryDTO> comments = get("/posts/" + POST_ID + "/comments?order=top")
+                .expectStatus().isOk()
+                .expectBody(new ParameterizedTypeReference<CursorPageDTO<CommentSummaryDTO>>() {
+                })
+                .returnResult().getResponseBody();
+
+        assertThat(comments.getContent()).extracting(CommentSummaryDTO::getId)
+                .containsExactly(TOP_COMMENT_ID, COMMENT_ID);
+        assertThat(comments.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("should reject the same orders as the MVC endpoint")
+    void findCommentsInvalidOrder() {
+        get("/posts/" + POST_ID + "/comments?order=old")
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Order must be one of: new, top");
+    }
+
+    @Test
+    @DisplayName("should return 404 when listing the comments of an unknown post")
+    void findCommentsNotFound() {
+        get("/posts/" + UUID.randomUUID() + "/comments")
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("should reject requests without a valid token")
+    void unauthorized() {
+        client.get().uri("/posts").exchange().expectStatus().isUnauthorized();
+        client.get().uri("/posts")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer invalid")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    private WebTestClient.ResponseSpec get(String uri) {
+        return client.get().uri(uri)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange();
+    }
+
+    private void insertPost(UUID id, String title, Instant publishDate) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(new HashSet<>(Set.of(PostCategory.technology)));
+        }
+        databaseClient.sql("INSERT INTO posts (id, title, content, publish_date, upvotes, comment_count, categories, " +
+                        "user_id) VALUES (:id, :title, 'content', :publishDate, 0, 0, X'" +
+                        HexFormat.of().formatHex(bytes.toByteArray()) + "', :userId)")
+                .bind("id", id)
+                .bind("title", title)
+                .bind("publishDate", OffsetDateTime.ofInstant(publishDate, ZoneOffset.UTC))
+                .bind("userId", USER_ID)
+                .then()
+                .block();
+    }
+
+    private void insertComment(UUID id, Instant publishDate, int upvotes, int depth) {
+        databaseClient.sql("INSERT INTO comments (id, content, publish_date, upvotes, reply_count, depth, post_id, " +
+                        "user_id) VALUES (:id, 'comment', :publishDate, :upvotes, 0, :depth, :postId, :userId)")
+                .bind("id", id)
+                .bind("publishDate", OffsetDateTime.ofInstant(publishDate, ZoneOffset.UTC))
+                .bind("upvotes", upvotes)
+                .bind("depth", depth)
+                .bind("postId", POST_ID)
+                .bind("userId", USER_ID)
+                .then()
+                .block();
+    }
+
+    private void execute(String sql) {
+        databaseClient.sql(sql).then().block();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.demo.controllers;
+
+import com.example.demo.ApplicationConfigTest;
+import com.example.demo.controllers.exceptions.BadRequestException;
+import com.example.demo.dtos.SearchResultDTO;
+import com.example.demo.services.SearchService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("SearchControllerTest")
+class SearchControllerTest extends ApplicationConfigTest {
+    private static final String PATH = "/search";
+    SearchResultDTO SEARCH_RESULT_RECORD = new SearchResultDTO(UUID.randomUUID(), "post", null, 1.5);
+    @MockBean
+    private SearchService searchService;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @WithMockUser
+    @DisplayName("should return a page of search results")
+    void search() throws Exception {
+        Page<SearchResultDTO> results = new PageImpl<>(Collections.singletonList(SEARCH_RESULT_RECORD),
+                PageRequest.of(0, 10), 1);
+        when(searchService.search(anyString(), anyInt(), anyInt())).thenReturn(results);
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get(PATH)
+                        .param("q", "security")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].id", is(SEARCH_RESULT_RECORD.getId().toString())))
+                .andExpect(jsonPath("$.content[0].type", is("post")));
+
+        verify(searchService, times(1)).search("security", 0, 10);
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("should return bad request if the query is missing")
+    void searchMissingQuery() throws Exception {
+        when(searchService.search(anyString(), anyInt(), anyInt())).thenThrow(new BadRequestException("q"));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get(PATH)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(result ->
+                        assertTrue(result.getResolvedException() instanceof BadRequestException));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("should forbid reindexing for non admin users")
+    void reindexForbidden() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders
+                        .post(PATH + "/reindex")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isForbidden());
+
+        verify(searchService, never()).rebuild();
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("should rebuild the index for admin users")
+    void reindex() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders
+                        .post(PATH + "/reindex")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNoContent());
+
+        verify(searchService, times(1)).rebuild();
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.demo.controllers;
+
+import com.example.demo.ApplicationConfigTest;
+import com.example.demo.dtos.CursorPageDTO;
+import com.example.demo.dtos.PostSummaryDTO;
+import com.example.demo.services.PostService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("UserControllerTest")
+class UserControllerTest extends ApplicationConfigTest {
+    private static final String PATH = "/users";
+    PostSummaryDTO POST_SUMMARY_RECORD = new PostSummaryDTO(UUID.randomUUID(), "title", Instant.now(), 2, 0);
+    @MockBean
+    private PostService postService;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @WithMockUser
+    @DisplayName("should return a page of the author's posts")
+    void findPosts() throws Exception {
+        UUID authorId = UUID.randomUUID();
+        CursorPageDTO<PostSummaryDTO> page = new CursorPageDTO<>(Collections.singletonList(POST_SUMMARY_RECORD), "next");
+        when(postService.findByAuthor(any(UUID.class), any(), anyInt())).thenReturn(page);
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get(PATH + "/" + authorId + "/posts")
+                        .param("pageSize", "1")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].title", is(POST_SUMMARY_RECORD.getTitle())))
+                .andExpect(jsonPath("$.nextCursor", is("next")));
+
+        verify(postService, times(1)).findByAuthor(authorId, null, 1);
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("should pass the cursor to the service")
+    void findPostsWithCursor() throws Exception {
+        UUID authorId = UUID.randomUUID();
+        when(postService.findByAuthor(any(UUID.class), anyString(), anyInt()))
+                .thenReturn(new CursorPageDTO<>(Collections.emptyList(), null));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get(PATH + "/" + authorId + "/posts")
+                        .param("cursor", "abc")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(0)));
+
+        verify(postService, times(1)).findByAuthor(authorId, "abc", 10);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.demo.repositories;
+
+import com.example.demo.entities.Comment;
+import com.example.demo.entities.Post;
+import com.example.demo.entities.User;
+import com.example.demo.entities.enums.PostCategory;
+import com.example.demo.entities.enums.Role;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@DisplayName("PostViewQueryCountTest")
+class PostViewQueryCountTest {
+    private static final int COMMENTS = 8;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private PostRepository postRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    private Statistics statistics;
+    private UUID postId;
+
+    @BeforeEach
+    void setup() {
+        User author = entityManager.persist(new User("author", "author@mail.com", "password", Role.ROLE_USER));
+        Post post = entityManager.persist(new Post("title", "contentmusthaveatleast30characters", Instant.now(),
+                new HashSet<>(Collections.singleton(PostCategory.technology)), author));
+        for (int i = 0; i < COMMENTS; i++) {
+            User commenter = entityManager.persist(new User("user" + i, "user" + i + "@mail.com", "password", Role.ROLE_USER));
+            entityManager.persist(new Comment("comment " + i, Instant.now().plusSeconds(i), post, commenter));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        postId = post.getId();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("should load a post, a page of comments and every author in two queries")
+    void findPostView() {
+        Post post = postRepository.findWithAuthorById(postId).orElseThrow();
+        List<Comment> comments = commentRepository.findWithAuthorByPost(postId, PageRequest.of(0, COMMENTS + 1));
+
+        assertThat(post.getAuthor().getUsername()).isEqualTo("author");
+        assertThat(comments).hasSize(COMMENTS);
+        assertThat(comments).allSatisfy(comment -> assertThat(comment.getAuthor().getUsername()).startsWith("user"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should not depend on the page size")
+    void findPostViewSmallPage() {
+        List<Comment> comments = commentRepository.findWithAuthorByPost(postId, PageRequest.of(0, 3));
+
+        comments.forEach(comment -> comment.getAuthor().getUsername());
+        assertThat(comments).hasSize(3);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.demo.repositories;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                "com.example.demo.repositories.RepositoryIndexTest$CapturingInspector",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@DisplayName("RepositoryIndexTest")
+class RepositoryIndexTest {
+    private static final UUID ID = UUID.randomUUID();
+    private static final PageRequest PAGE = PageRequest.of(0, 10);
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ConfirmationTokenRepository confirmationTokenRepository;
+    @Autowired
+    private PostRepository postRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @BeforeEach
+    void setup() {
+        CapturingInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    @DisplayName("should find users by username, email and reset token through an index")
+    void users() throws SQLException {
+        assertThat(planOf(() -> userRepository.findByUsername("user"))).contains("UK_USERS_USERNAME");
+        assertThat(planOf(() -> userRepository.findByEmail("user@mail.com"))).contains("UK_USERS_EMAIL");
+        assertThat(planOf(() -> userRepository.findByResetPasswordToken(ID)))
+                .contains("IDX_USERS_RESET_PASSWORD_TOKEN");
+    }
+
+    @Test
+    @DisplayName("should find confirmation tokens through an index")
+    void confirmationTokens() throws SQLException {
+        assertThat(planOf(() -> confirmationTokenRepository.findByConfirmationToken(ID)))
+                .contains("IDX_CONFIRMATION_TOKEN_CONFIRMATION_TOKEN");
+    }
+
+    @Test
+    @DisplayName("should find posts by publish date and by author through an index")
+    void posts() throws SQLException {
+        assertThat(planOf(() -> postRepository.findByPublishDateAfter(Instant.now())))
+                .contains("IDX_POSTS_PUBLISH_DATE");
+        planOf(() -> postRepository.findSummariesByAuthor(ID, PAGE));
+        planOf(() -> postRepository.findSummariesByAuthorBefore(ID, Instant.now(), ID, PAGE));
+        planOf(() -> postRepository.findWithAuthorById(ID));
+    }
+
+    @Test
+    @DisplayName("should find the comments of a post through an index")
+    void comments() throws SQLException {
+        planOf(() -> commentRepository.findSummariesByPost(ID, PAGE));
+        planOf(() -> commentRepository.findSummariesByPostBefore(ID, Instant.now(), ID, PAGE));
+        planOf(() -> commentRepository.findTopSummariesByPost(ID, PAGE));
+        planOf(() -> commentRepository.findTopSummariesByPostBefore(ID, 0, ID, PAGE));
+        planOf(() -> commentRepository.findWithAuthorByPost(ID, PAGE));
+        planOf(() -> commentRepository.findSubtree(ID, 1, PAGE));
+        planOf(() -> commentRepository.findSubtreeIds(ID, "path"));
+    }
+
+    private String planOf(Runnable finder) throws SQLException {
+        CapturingInspector.STATEMENTS.clear();
+        finder.run();
+        List<String> selects = CapturingInspector.STATEMENTS.stream()
+                .filter(sql -> sql.trim().toLowerCase().startsWith("select"))
+                .toList();
+        assertThat(selects).isNotEmpty();
+
+        String sql = selects.get(selects.size() - 1);
+        String plan;
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql);
+             ResultSet resultSet = statement.executeQuery()) {
+            resultSet.next();
+            plan = resultSet.getString(1);
+        }
+        assertThat(plan).as("plan of %s", sql).doesNotContain("tableScan");
+        return plan;
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+        private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
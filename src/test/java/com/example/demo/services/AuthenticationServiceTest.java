@@ -112,6 +112,18 @@ class AuthenticationServiceTest extends ApplicationConfigTest {
         verify(tokenService, never()).generateToken(any(User.class));
     }
 
+    @Test
+    @DisplayName("should not send the confirmation email if the registration is not saved")
+    void registerDoesNotSendEmailOnFailure() {
+        when(confirmationTokenRepository.save(any(ConfirmationToken.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        assertThrows(DuplicateKeyException.class,
+                () -> authenticationService.register(REGISTER_DTO_RECORD));
+
+        verify(senderService, never()).sendEmail(anyString(), anyString(), anyString());
+    }
+
     @Test
     @DisplayName("should return a token")
     void login() {
@@ -196,6 +208,32 @@ class AuthenticationServiceTest extends ApplicationConfigTest {
         verify(userRepository, times(1)).findByUsername(anyString());
     }
 
+    @Test
+    @DisplayName("should increase the failed attempts of the loaded user")
+    void increaseFailedAttempts() {
+        User loaded = new User("a", "b", "c", Role.ROLE_USER);
+        loaded.setFailedAttempt(1);
+        when(userRepository.findByUsername(USER_RECORD.getUsername())).thenReturn(loaded);
+
+        authenticationService.increaseFailedAttempts(USER_RECORD);
+
+        assertEquals(2, loaded.getFailedAttempt());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    @DisplayName("should reset the failed attempts of the loaded user")
+    void resetFailedAttempts() {
+        User loaded = new User("a", "b", "c", Role.ROLE_USER);
+        loaded.setFailedAttempt(2);
+        when(userRepository.findByUsername(USER_RECORD.getUsername())).thenReturn(loaded);
+
+        authenticationService.resetFailedAttempts(USER_RECORD.getUsername());
+
+        assertEquals(0, loaded.getFailedAttempt());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
     @Test
     @DisplayName("should update the reset password token of user")
     void updateResetPasswordToken() throws Exception {
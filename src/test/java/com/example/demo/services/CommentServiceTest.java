@@ -2,23 +2,36 @@ package com.example.demo.services;
 
 import com.example.demo.ApplicationConfigTest;
 import com.example.demo.dtos.CommentDTO;
+import com.example.demo.dtos.CommentPatchDTO;
+import com.example.demo.dtos.CommentSummaryDTO;
+import com.example.demo.dtos.CursorPageDTO;
+import com.example.demo.dtos.ThreadCommentDTO;
 import com.example.demo.entities.Comment;
 import com.example.demo.entities.Post;
 import com.example.demo.entities.User;
 import com.example.demo.entities.enums.PostCategory;
 import com.example.demo.entities.enums.Role;
 import com.example.demo.repositories.CommentRepository;
+import com.example.demo.repositories.PostRepository;
+import com.example.demo.services.exceptions.DatabaseException;
 import com.example.demo.services.exceptions.ResourceNotFoundException;
 import com.example.demo.services.exceptions.UnauthorizedAccessException;
+import com.example.demo.services.utils.KeysetCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.Instant;
 import java.util.*;
@@ -39,7 +52,7 @@ class CommentServiceTest extends ApplicationConfigTest {
     @MockBean
     private CommentRepository commentRepository;
     @MockBean
-    private PostService postService;
+    private PostRepository postRepository;
     private Authentication authentication;
     private SecurityContext securityContext;
 
@@ -57,8 +70,9 @@ class CommentServiceTest extends ApplicationConfigTest {
     @Test
     @DisplayName("should create a comment")
     void create() {
-        when(commentRepository.save(any(Comment.class))).thenReturn(COMMENT_RECORD);
-        when(postService.findById(any(UUID.class))).thenReturn(POST_RECORD);
+        when(commentRepository.saveAndFlush(any(Comment.class))).thenReturn(COMMENT_RECORD);
+        when(postRepository.incrementCommentCount(any(UUID.class))).thenReturn(1);
+        when(postRepository.getReferenceById(any(UUID.class))).thenReturn(POST_RECORD);
 
         Comment result = commentService.create(COMMENT_DTO_RECORD);
 
@@ -72,8 +86,104 @@ class CommentServiceTest extends ApplicationConfigTest {
 
         verify(authentication, times(1)).getPrincipal();
         verify(securityContext, times(1)).getAuthentication();
-        verify(commentRepository, times(1)).save(any(Comment.class));
-        verify(postService, times(1)).findById(any(UUID.class));
+        verify(commentRepository, times(1)).saveAndFlush(any(Comment.class));
+        verify(postRepository, times(1)).incrementCommentCount(COMMENT_DTO_RECORD.getPostId());
+        verify(postRepository, times(1)).getReferenceById(COMMENT_DTO_RECORD.getPostId());
+        verify(postRepository, never()).findById(any(UUID.class));
+    }
+
+    @Test
+    @DisplayName("should throw ResourceNotFoundException if the post does not exist")
+    void createPostNotFound() {
+        when(postRepository.incrementCommentCount(any(UUID.class))).thenReturn(0);
+
+        assertThrows(ResourceNotFoundException.class, () -> commentService.create(COMMENT_DTO_RECORD));
+
+        verify(postRepository, never()).getReferenceById(any(UUID.class));
+        verify(commentRepository, never()).saveAndFlush(any(Comment.class));
+    }
+
+    @Test
+    @DisplayName("should map a constraint violation on an existing post to DatabaseException")
+    void createDatabaseException() {
+        when(postRepository.incrementCommentCount(any(UUID.class))).thenReturn(1);
+        when(postRepository.getReferenceById(any(UUID.class))).thenReturn(POST_RECORD);
+        when(commentRepository.saveAndFlush(any(Comment.class))).thenThrow(new DataIntegrityViolationException("fk"));
+
+        assertThrows(DatabaseException.class, () -> commentService.create(COMMENT_DTO_RECORD));
+    }
+
+    @Test
+    @DisplayName("should create a reply under its parent path and count it on the parent")
+    void createReply() {
+        UUID postId = UUID.randomUUID();
+        UUID parentId = UUID.randomUUID();
+        ReflectionTestUtils.setField(POST_RECORD, "id", postId);
+        Comment parent = new Comment("parent", Instant.now(), POST_RECORD, USER_RECORD);
+        ReflectionTestUtils.setField(parent, "id", parentId);
+        parent.setPath(Comment.pathSegment(parent.getPublishDate()));
+        when(postRepository.incrementCommentCount(postId)).thenReturn(1);
+        when(postRepository.getReferenceById(postId)).thenReturn(POST_RECORD);
+        when(commentRepository.findById(parentId)).thenReturn(Optional.of(parent));
+        when(commentRepository.saveAndFlush(any(Comment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Comment result = commentService.create(new CommentDTO("content", postId, parentId));
+
+        assertThat(result.getParentId()).isEqualTo(parentId);
+        assertThat(result.getDepth()).isEqualTo(1);
+        assertThat(result.getPath()).startsWith(parent.getPath());
+        assertThat(result.getPath()).hasSize(2 * Comment.PATH_SEGMENT_LENGTH);
+
+        verify(commentRepository, times(1)).incrementReplyCount(parentId);
+    }
+
+    @Test
+    @DisplayName("should throw ResponseStatusException if the parent belongs to another post")
+    void createReplyOtherPost() {
+        UUID parentId = UUID.randomUUID();
+        ReflectionTestUtils.setField(POST_RECORD, "id", UUID.randomUUID());
+        Comment parent = new Comment("parent", Instant.now(), POST_RECORD, USER_RECORD);
+        when(commentRepository.findById(parentId)).thenReturn(Optional.of(parent));
+
+        assertThrows(ResponseStatusException.class,
+                () -> commentService.create(new CommentDTO("content", UUID.randomUUID(), parentId)));
+
+        verify(commentRepository, never()).incrementReplyCount(any(UUID.class));
+        verify(postRepository, never()).incrementCommentCount(any(UUID.class));
+        verify(commentRepository, never()).saveAndFlush(any(Comment.class));
+    }
+
+    @Test
+    @DisplayName("should assemble a thread from one ordered subtree query")
+    void findThread() {
+        String rootPath = "0000000000a00001";
+        String replyPath = rootPath + "0000000000b00002";
+        ThreadCommentDTO root = new ThreadCommentDTO(UUID.randomUUID(), "root", Instant.now(), 0, UUID.randomUUID(), 0, 2, rootPath);
+        ThreadCommentDTO reply = new ThreadCommentDTO(UUID.randomUUID(), "reply", Instant.now(), 0, UUID.randomUUID(), 1, 1, replyPath);
+        ThreadCommentDTO nested = new ThreadCommentDTO(UUID.randomUUID(), "nested", Instant.now(), 0, UUID.randomUUID(), 2, 0,
+                replyPath + "0000000000c00003");
+        ThreadCommentDTO sibling = new ThreadCommentDTO(UUID.randomUUID(), "sibling", Instant.now(), 0, UUID.randomUUID(), 1, 0,
+                rootPath + "0000000000d00004");
+        when(commentRepository.findSubtree(any(UUID.class), anyInt(), any(Pageable.class)))
+                .thenReturn(Arrays.asList(root, reply, nested, sibling));
+
+        ThreadCommentDTO result = commentService.findThread(root.getId(), null);
+
+        assertThat(result).isEqualTo(root);
+        assertThat(result.getReplies()).containsExactly(reply, sibling);
+        assertThat(reply.getReplies()).containsExactly(nested);
+
+        verify(commentRepository, times(1)).findSubtree(root.getId(), Comment.MAX_DEPTH,
+                PageRequest.of(0, CommentService.MAX_THREAD_SIZE));
+        verify(commentRepository, never()).findById(any(UUID.class));
+    }
+
+    @Test
+    @DisplayName("should throw ResourceNotFoundException if the thread root does not exist")
+    void findThreadNotFound() {
+        when(commentRepository.findSubtree(any(UUID.class), anyInt(), any(Pageable.class))).thenReturn(Collections.emptyList());
+
+        assertThrows(ResourceNotFoundException.class, () -> commentService.findThread(UUID.randomUUID(), 1));
     }
 
     @Test
@@ -81,14 +191,67 @@ class CommentServiceTest extends ApplicationConfigTest {
     void findAll() {
         List<Comment> comments = Collections.singletonList(COMMENT_RECORD);
 
-        when(commentRepository.findAll()).thenReturn(comments);
+        when(commentRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(comments));
 
-        List<Comment> result = commentService.findAll();
+        List<Comment> result = commentService.findAll(0, 500);
 
         assertThat(result).isNotNull();
         assertThat(result).isEqualTo(comments);
 
-        verify(commentRepository, times(1)).findAll();
+        verify(commentRepository, times(1)).findAll(
+                PageRequest.of(0, CommentService.MAX_PAGE_SIZE, Sort.by(Sort.Direction.DESC, "publishDate", "id")));
+    }
+
+    @Test
+    @DisplayName("should return the newest comments of a post with a cursor")
+    void findByPost() {
+        CommentSummaryDTO first = new CommentSummaryDTO(UUID.randomUUID(), "b", Instant.now(), 0, UUID.randomUUID(), 0);
+        CommentSummaryDTO second = new CommentSummaryDTO(UUID.randomUUID(), "a", Instant.now().minusSeconds(1), 0, UUID.randomUUID(), 0);
+        when(commentRepository.findSummariesByPost(any(UUID.class), any(Pageable.class)))
+                .thenReturn(Arrays.asList(first, second));
+
+        CursorPageDTO<CommentSummaryDTO> result = commentService.findByPost(UUID.randomUUID(), "new", null, 1);
+
+        assertThat(result.getContent()).containsExactly(first);
+        assertThat(KeysetCursor.decode(result.getNextCursor()))
+                .isEqualTo(new KeysetCursor(first.getPublishDate().toString(), first.getId()));
+
+        verify(commentRepository, times(1)).findSummariesByPost(any(UUID.class), eq(PageRequest.of(0, 2)));
+    }
+
+    @Test
+    @DisplayName("should continue the top comments of a post after the cursor")
+    void findByPostTopWithCursor() {
+        CommentSummaryDTO last = new CommentSummaryDTO(UUID.randomUUID(), "a", Instant.now(), 2, UUID.randomUUID(), 0);
+        UUID id = UUID.randomUUID();
+        when(commentRepository.findTopSummariesByPostBefore(any(UUID.class), anyInt(), any(UUID.class), any(Pageable.class)))
+                .thenReturn(Collections.singletonList(last));
+
+        CursorPageDTO<CommentSummaryDTO> result = commentService.findByPost(UUID.randomUUID(), "top",
+                KeysetCursor.encode(5, id), 5);
+
+        assertThat(result.getContent()).containsExactly(last);
+        assertThat(result.getNextCursor()).isNull();
+
+        verify(commentRepository, times(1)).findTopSummariesByPostBefore(any(UUID.class), eq(5), eq(id), any(Pageable.class));
+        verify(commentRepository, never()).findSummariesByPost(any(UUID.class), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("should throw ResourceNotFoundException when listing the comments of a missing post")
+    void findByPostNotFound() {
+        when(commentRepository.findSummariesByPost(any(UUID.class), any(Pageable.class))).thenReturn(Collections.emptyList());
+        when(postRepository.existsById(any(UUID.class))).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> commentService.findByPost(UUID.randomUUID(), "new", null, 5));
+    }
+
+    @Test
+    @DisplayName("should throw ResponseStatusException for an unknown order")
+    void findByPostInvalidOrder() {
+        assertThrows(ResponseStatusException.class,
+                () -> commentService.findByPost(UUID.randomUUID(), "old", null, 5));
     }
 
     @Test
@@ -118,56 +281,76 @@ class CommentServiceTest extends ApplicationConfigTest {
     @DisplayName("should update a comment")
     void update() {
         ReflectionTestUtils.setField(USER_RECORD, "id", UUID.randomUUID());
+        CommentPatchDTO patch = CommentPatchDTO.builder().content("new content").build();
 
-        when(commentRepository.getReferenceById(any(UUID.class))).thenReturn(COMMENT_RECORD);
-        when(commentRepository.save(any(Comment.class))).thenReturn(COMMENT_RECORD);
-
-        COMMENT_RECORD.setContent("new content");
+        when(commentRepository.patchByIdAndAuthor(any(UUID.class), eq(USER_RECORD.getId()), eq(patch))).thenReturn(1);
 
-        Comment result = commentService.update(UUID.randomUUID(), COMMENT_RECORD);
-
-        assertThat(result).isEqualTo(COMMENT_RECORD);
+        commentService.update(UUID.randomUUID(), patch);
 
         verify(authentication, times(1)).getPrincipal();
         verify(securityContext, times(1)).getAuthentication();
-        verify(commentRepository, times(1)).getReferenceById(any(UUID.class));
-        verify(commentRepository, times(1)).save(any(Comment.class));
+        verify(commentRepository, times(1)).patchByIdAndAuthor(any(UUID.class), eq(USER_RECORD.getId()), eq(patch));
+        verify(commentRepository, never()).getReferenceById(any(UUID.class));
+        verify(commentRepository, never()).save(any(Comment.class));
     }
 
     @Test
     @DisplayName("should throw UnauthorizedAccessException if checkOwnership is invalid")
     void updateUnauthorizedAccessException() {
-        User user2 = new User("x", "y", "z", Role.ROLE_USER);
-        ReflectionTestUtils.setField(user2, "id", UUID.randomUUID());
-
-        when(authentication.getPrincipal()).thenReturn(user2);
+        ReflectionTestUtils.setField(USER_RECORD, "id", UUID.randomUUID());
 
-        when(commentRepository.getReferenceById(any(UUID.class))).thenReturn(COMMENT_RECORD);
-        when(commentRepository.save(any(Comment.class))).thenReturn(COMMENT_RECORD);
+        when(commentRepository.patchByIdAndAuthor(any(UUID.class), any(UUID.class), any(CommentPatchDTO.class))).thenReturn(0);
+        when(commentRepository.existsById(any(UUID.class))).thenReturn(true);
 
         assertThrows(UnauthorizedAccessException.class,
-                () -> commentService.update(UUID.randomUUID(), COMMENT_RECORD));
+                () -> commentService.update(UUID.randomUUID(), CommentPatchDTO.builder().content("new content").build()));
 
-        verify(authentication, times(1)).getPrincipal();
-        verify(securityContext, times(1)).getAuthentication();
-        verify(commentRepository, times(1)).getReferenceById(any(UUID.class));
-        verify(commentRepository, never()).save(any(Comment.class));
+        verify(commentRepository, times(1)).existsById(any(UUID.class));
     }
 
     @Test
     @DisplayName("should delete a comment")
     void delete() {
         ReflectionTestUtils.setField(USER_RECORD, "id", UUID.randomUUID());
+        ReflectionTestUtils.setField(POST_RECORD, "id", UUID.randomUUID());
+        COMMENT_RECORD.setPath(Comment.pathSegment(COMMENT_RECORD.getPublishDate()));
+        List<UUID> ids = List.of(UUID.randomUUID());
 
         when(commentRepository.getReferenceById(any(UUID.class))).thenReturn(COMMENT_RECORD);
-        doNothing().when(commentRepository).deleteById(any(UUID.class));
+        when(commentRepository.findSubtreeIds(POST_RECORD.getId(), COMMENT_RECORD.getPath())).thenReturn(ids);
+        when(commentRepository.deleteByIdIn(ids)).thenReturn(1);
 
         commentService.delete(UUID.randomUUID());
 
         verify(authentication, times(1)).getPrincipal();
         verify(securityContext, times(1)).getAuthentication();
         verify(commentRepository, times(1)).getReferenceById(any(UUID.class));
-        verify(commentRepository, times(1)).deleteById(any(UUID.class));
+        verify(commentRepository, times(1)).deleteByIdIn(ids);
+        verify(postRepository, times(1)).decrementCommentCount(POST_RECORD.getId(), 1);
+        verify(commentRepository, never()).decrementReplyCount(any(UUID.class));
+    }
+
+    @Test
+    @DisplayName("should delete a comment with its replies and uncount it on the parent")
+    void deleteSubtree() {
+        ReflectionTestUtils.setField(USER_RECORD, "id", UUID.randomUUID());
+        ReflectionTestUtils.setField(POST_RECORD, "id", UUID.randomUUID());
+        Comment parent = new Comment("parent", Instant.now(), POST_RECORD, USER_RECORD);
+        UUID parentId = UUID.randomUUID();
+        ReflectionTestUtils.setField(parent, "id", parentId);
+        parent.setPath(Comment.pathSegment(parent.getPublishDate()));
+        Comment reply = new Comment("reply", Instant.now(), POST_RECORD, USER_RECORD, parent);
+        List<UUID> ids = Arrays.asList(UUID.randomUUID(), UUID.randomUUID());
+
+        when(commentRepository.getReferenceById(any(UUID.class))).thenReturn(reply);
+        when(commentRepository.findSubtreeIds(POST_RECORD.getId(), reply.getPath())).thenReturn(ids);
+        when(commentRepository.deleteByIdIn(ids)).thenReturn(ids.size());
+
+        commentService.delete(UUID.randomUUID());
+
+        verify(commentRepository, times(1)).deleteByIdIn(ids);
+        verify(postRepository, times(1)).decrementCommentCount(POST_RECORD.getId(), 2);
+        verify(commentRepository, times(1)).decrementReplyCount(parentId);
     }
 
     @Test
@@ -179,7 +362,6 @@ class CommentServiceTest extends ApplicationConfigTest {
         when(authentication.getPrincipal()).thenReturn(user2);
 
         when(commentRepository.getReferenceById(any(UUID.class))).thenReturn(COMMENT_RECORD);
-        doNothing().when(commentRepository).deleteById(any(UUID.class));
 
         assertThrows(UnauthorizedAccessException.class,
                 () -> commentService.delete(UUID.randomUUID()));
@@ -187,7 +369,7 @@ class CommentServiceTest extends ApplicationConfigTest {
         verify(authentication, times(1)).getPrincipal();
         verify(securityContext, times(1)).getAuthentication();
         verify(commentRepository, times(1)).getReferenceById(any(UUID.class));
-        verify(commentRepository, never()).deleteById(any(UUID.class));
+        verify(commentRepository, never()).deleteByIdIn(anyCollection());
     }
 
     @Test
@@ -196,16 +378,18 @@ class CommentServiceTest extends ApplicationConfigTest {
         User user2 = new User("a", "b", "c", Role.ROLE_ADMIN);
 
         when(authentication.getPrincipal()).thenReturn(user2);
+        List<UUID> ids = List.of(UUID.randomUUID());
 
         when(commentRepository.getReferenceById(any(UUID.class))).thenReturn(COMMENT_RECORD);
-        doNothing().when(commentRepository).deleteById(any(UUID.class));
+        when(commentRepository.findSubtreeIds(any(), any())).thenReturn(ids);
+        when(commentRepository.deleteByIdIn(ids)).thenReturn(1);
 
         commentService.delete(UUID.randomUUID());
 
         verify(authentication, times(1)).getPrincipal();
         verify(securityContext, times(1)).getAuthentication();
         verify(commentRepository, times(1)).getReferenceById(any(UUID.class));
-        verify(commentRepository, times(1)).deleteById(any(UUID.class));
+        verify(commentRepository, times(1)).deleteByIdIn(ids);
     }
 
     @Test
@@ -0,0 +1,90 @@
+package com.example.demo.services;
+
+import com.example.demo.ApplicationConfigTest;
+import com.example.demo.dtos.CommentExportDTO;
+import com.example.demo.dtos.PostExportDTO;
+import com.example.demo.entities.enums.PostCategory;
+import com.example.demo.repositories.CommentRepository;
+import com.example.demo.repositories.PostRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ExportServiceTest")
+class ExportServiceTest extends ApplicationConfigTest {
+    @Autowired
+    ExportService exportService;
+    @Autowired
+    ObjectMapper objectMapper;
+    PostExportDTO POST_RECORD = new PostExportDTO(UUID.randomUUID(), "title", "contentmusthaveatleast30characters",
+            Instant.now(), 1, Collections.singleton(PostCategory.technology), UUID.randomUUID());
+    PostExportDTO POST_RECORD_2 = new PostExportDTO(UUID.randomUUID(), "title 2", "contentmusthaveatleast30characters",
+            Instant.now(), 0, Collections.singleton(PostCategory.sports), UUID.randomUUID());
+    CommentExportDTO COMMENT_RECORD = new CommentExportDTO(UUID.randomUUID(), "content", Instant.now(), 0,
+            POST_RECORD.getId(), UUID.randomUUID());
+    @MockBean
+    private PostRepository postRepository;
+    @MockBean
+    private CommentRepository commentRepository;
+
+    @Test
+    @DisplayName("should write one JSON document per post and close the stream")
+    void exportPosts() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(postRepository.streamForExport())
+                .thenReturn(Stream.of(POST_RECORD, POST_RECORD_2).onClose(() -> closed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long result = exportService.exportPosts(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(result).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[0]).get("id").asText()).isEqualTo(POST_RECORD.getId().toString());
+        assertThat(objectMapper.readTree(lines[1]).get("title").asText()).isEqualTo(POST_RECORD_2.getTitle());
+        assertThat(closed).isTrue();
+
+        verify(postRepository, times(1)).streamForExport();
+    }
+
+    @Test
+    @DisplayName("should separate the documents with a single newline")
+    void exportPostsBytes() throws Exception {
+        when(postRepository.streamForExport()).thenReturn(Stream.of(POST_RECORD, POST_RECORD_2));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportPosts(out);
+
+        String expected = objectMapper.writeValueAsString(POST_RECORD) + "\n"
+                + objectMapper.writeValueAsString(POST_RECORD_2) + "\n";
+        assertThat(out.toByteArray()).isEqualTo(expected.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("should write one JSON document per comment with its post id")
+    void exportComments() throws Exception {
+        when(commentRepository.streamForExport()).thenReturn(Stream.of(COMMENT_RECORD));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long result = exportService.exportComments(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(result).isEqualTo(1);
+        assertThat(objectMapper.readTree(lines[0]).get("postId").asText()).isEqualTo(POST_RECORD.getId().toString());
+
+        verify(commentRepository, times(1)).streamForExport();
+    }
+}
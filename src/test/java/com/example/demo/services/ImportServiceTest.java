@@ -0,0 +1,126 @@
+package com.example.demo.services;
+
+import com.example.demo.ApplicationConfigTest;
+import com.example.demo.dtos.ImportReportDTO;
+import com.example.demo.entities.User;
+import com.example.demo.entities.enums.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ImportServiceTest")
+class ImportServiceTest extends ApplicationConfigTest {
+    private static final String VALID_LINE = "{\"title\":\"title\",\"content\":\"contentmusthaveatleast30characters\","
+            + "\"categories\":[\"technology\"],\"comments\":[{\"content\":\"comment\"},{\"content\":\"a\"}]}";
+    private static final String INVALID_LINE = "{\"title\":\"t\",\"content\":\"short\"}";
+    private static final String MALFORMED_LINE = "{\"title\":";
+    @Autowired
+    ImportService importService;
+    User USER_RECORD = new User("a", "b", "c", Role.ROLE_ADMIN);
+    @MockBean
+    private TransactionTemplate transactionTemplate;
+    @MockBean
+    private SearchService searchService;
+
+    @BeforeEach
+    void setupSecurityContext() {
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(USER_RECORD);
+
+        SecurityContext securityContext = mock(SecurityContext.class);
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+
+        SecurityContextHolder.setContext(securityContext);
+    }
+
+    @Test
+    @DisplayName("should write the valid posts and report the rejected lines and comments")
+    void importPosts() throws Exception {
+        String body = String.join("\n", VALID_LINE, INVALID_LINE, "", MALFORMED_LINE);
+
+        ImportReportDTO result = importService.importPosts(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(result.getLines()).isEqualTo(4);
+        assertThat(result.getRejected()).isEqualTo(3);
+        assertThat(result.getRejections()).hasSize(3);
+        assertThat(result.getRejections()).anyMatch(reason -> reason.startsWith("line 1, comment 1: content"));
+        assertThat(result.getRejections()).anyMatch(reason -> reason.startsWith("line 2: "));
+        assertThat(result.getRejections()).anyMatch(reason -> reason.startsWith("line 4: malformed JSON"));
+
+        verify(transactionTemplate, times(1)).executeWithoutResult(any());
+    }
+
+    @Test
+    @DisplayName("should not open a transaction when every line is rejected")
+    void importPostsAllRejected() throws Exception {
+        ImportReportDTO result = importService.importPosts(
+                new ByteArrayInputStream(INVALID_LINE.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(result.getImportedPosts()).isZero();
+        assertThat(result.getRejected()).isEqualTo(1);
+
+        verify(transactionTemplate, never()).executeWithoutResult(any());
+    }
+
+    @Test
+    @DisplayName("should import a gzipped file from the import directory")
+    void importPostsFromFile(@TempDir Path directory) throws Exception {
+        try (GZIPOutputStream out = new GZIPOutputStream(Files.newOutputStream(directory.resolve("posts.ndjson.gz")))) {
+            out.write(VALID_LINE.getBytes(StandardCharsets.UTF_8));
+        }
+        ReflectionTestUtils.setField(importService, "importDirectory", directory.toString());
+
+        try {
+            ImportReportDTO result = importService.importPosts("posts.ndjson.gz");
+
+            assertThat(result.getLines()).isEqualTo(1);
+            verify(transactionTemplate, times(1)).executeWithoutResult(any());
+        } finally {
+            ReflectionTestUtils.setField(importService, "importDirectory", "");
+        }
+    }
+
+    @Test
+    @DisplayName("should reject file names outside the import directory")
+    void importPostsFromFileOutsideDirectory(@TempDir Path directory) throws Exception {
+        Files.createDirectory(directory.resolve("imports"));
+        Files.writeString(directory.resolve("secret.ndjson"), VALID_LINE);
+        ReflectionTestUtils.setField(importService, "importDirectory", directory.resolve("imports").toString());
+
+        try {
+            assertThatThrownBy(() -> importService.importPosts("../secret.ndjson"))
+                    .isInstanceOf(ResponseStatusException.class);
+            verify(transactionTemplate, never()).executeWithoutResult(any());
+        } finally {
+            ReflectionTestUtils.setField(importService, "importDirectory", "");
+        }
+    }
+
+    @Test
+    @DisplayName("should refuse file imports when no import directory is set")
+    void importPostsFromFileDisabled() {
+        assertThatThrownBy(() -> importService.importPosts("posts.ndjson"))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("File imports are disabled");
+    }
+}
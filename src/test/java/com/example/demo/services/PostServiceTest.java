@@ -1,24 +1,35 @@
 package com.example.demo.services;
 
 import com.example.demo.ApplicationConfigTest;
+import com.example.demo.dtos.BatchResultDTO;
+import com.example.demo.dtos.CursorPageDTO;
 import com.example.demo.dtos.PostDTO;
+import com.example.demo.dtos.PostPatchDTO;
+import com.example.demo.dtos.PostSummaryDTO;
+import com.example.demo.dtos.PostViewDTO;
+import com.example.demo.entities.Comment;
 import com.example.demo.entities.Post;
 import com.example.demo.entities.User;
 import com.example.demo.entities.enums.PostCategory;
 import com.example.demo.entities.enums.Role;
+import com.example.demo.repositories.CommentRepository;
 import com.example.demo.repositories.PostRepository;
+import com.example.demo.services.exceptions.DatabaseException;
 import com.example.demo.services.exceptions.ResourceNotFoundException;
 import com.example.demo.services.exceptions.UnauthorizedAccessException;
+import com.example.demo.services.utils.KeysetCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.Instant;
 import java.util.*;
@@ -42,6 +53,8 @@ class PostServiceTest extends ApplicationConfigTest {
 
     @MockBean
     private PostRepository postRepository;
+    @MockBean
+    private CommentRepository commentRepository;
 
     private Authentication authentication;
     private SecurityContext securityContext;
@@ -73,6 +86,37 @@ class PostServiceTest extends ApplicationConfigTest {
         verify(postRepository, times(1)).save(any(Post.class));
     }
 
+    @Test
+    @DisplayName("should create the valid posts of a batch and report the rejected ones")
+    void createBatch() {
+        PostDTO invalidPost = new PostDTO("t", "short", null);
+        when(postRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Post> posts = invocation.getArgument(0);
+            posts.forEach(post -> ReflectionTestUtils.setField(post, "id", UUID.randomUUID()));
+            return posts;
+        });
+
+        List<BatchResultDTO> result = postService.createBatch(Arrays.asList(POST_DTO_RECORD, invalidPost, POST_DTO_RECORD));
+
+        assertThat(result).hasSize(3);
+        assertThat(result).extracting(BatchResultDTO::getStatus).containsExactly("created", "rejected", "created");
+        assertThat(result.get(0).getId()).isNotNull();
+        assertThat(result.get(1).getId()).isNull();
+        assertThat(result.get(1).getErrors()).hasSize(3);
+
+        verify(postRepository, times(1)).saveAll(argThat(posts -> ((List<Post>) posts).size() == 2));
+    }
+
+    @Test
+    @DisplayName("should throw ResponseStatusException if the batch is too large")
+    void createBatchTooLarge() {
+        List<PostDTO> posts = Collections.nCopies(PostService.MAX_BATCH_SIZE + 1, POST_DTO_RECORD);
+
+        assertThrows(ResponseStatusException.class, () -> postService.createBatch(posts));
+
+        verify(postRepository, never()).saveAll(anyList());
+    }
+
     @Test
     @DisplayName("should get all posts")
     void findAll() {
@@ -154,6 +198,103 @@ class PostServiceTest extends ApplicationConfigTest {
         verify(postRepository, times(1)).findAll(any(Pageable.class));
     }
 
+    @Test
+    @DisplayName("should return the first page of an author's posts with a cursor")
+    void findByAuthor() {
+        PostSummaryDTO first = new PostSummaryDTO(UUID.randomUUID(), "b", Instant.now(), 0, 0);
+        PostSummaryDTO second = new PostSummaryDTO(UUID.randomUUID(), "a", Instant.now().minusSeconds(1), 0, 0);
+        when(postRepository.findSummariesByAuthor(any(UUID.class), any(Pageable.class)))
+                .thenReturn(Arrays.asList(first, second));
+
+        CursorPageDTO<PostSummaryDTO> result = postService.findByAuthor(UUID.randomUUID(), null, 1);
+
+        assertThat(result.getContent()).containsExactly(first);
+        assertThat(KeysetCursor.decode(result.getNextCursor()))
+                .isEqualTo(new KeysetCursor(first.getPublishDate().toString(), first.getId()));
+
+        verify(postRepository, times(1)).findSummariesByAuthor(any(UUID.class), eq(PageRequest.of(0, 2)));
+    }
+
+    @Test
+    @DisplayName("should continue after the cursor and stop on the last page")
+    void findByAuthorWithCursor() {
+        PostSummaryDTO last = new PostSummaryDTO(UUID.randomUUID(), "a", Instant.now(), 0, 0);
+        Instant publishDate = Instant.now().plusSeconds(1);
+        UUID id = UUID.randomUUID();
+        when(postRepository.findSummariesByAuthorBefore(any(UUID.class), any(Instant.class), any(UUID.class), any(Pageable.class)))
+                .thenReturn(Collections.singletonList(last));
+
+        CursorPageDTO<PostSummaryDTO> result = postService.findByAuthor(UUID.randomUUID(),
+                KeysetCursor.encode(publishDate, id), 5);
+
+        assertThat(result.getContent()).containsExactly(last);
+        assertThat(result.getNextCursor()).isNull();
+
+        verify(postRepository, times(1)).findSummariesByAuthorBefore(any(UUID.class), eq(publishDate), eq(id), any(Pageable.class));
+        verify(postRepository, never()).findSummariesByAuthor(any(UUID.class), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("should throw ResponseStatusException for an invalid cursor")
+    void findByAuthorInvalidCursor() {
+        assertThrows(ResponseStatusException.class,
+                () -> postService.findByAuthor(UUID.randomUUID(), "not-a-cursor", 5));
+    }
+
+    @Test
+    @DisplayName("should reconcile the comment counts chunk by chunk")
+    void reconcileCommentCounts() {
+        List<UUID> firstChunk = new ArrayList<>();
+        for (int i = 0; i < PostService.RECONCILE_CHUNK_SIZE; i++) {
+            firstChunk.add(UUID.randomUUID());
+        }
+        List<UUID> lastChunk = Collections.singletonList(UUID.randomUUID());
+        when(postRepository.findIds(any(Pageable.class))).thenReturn(firstChunk);
+        when(postRepository.findIdsAfter(any(UUID.class), any(Pageable.class))).thenReturn(lastChunk);
+        when(postRepository.reconcileCommentCounts(anyCollection())).thenReturn(2, 1);
+
+        int result = postService.reconcileCommentCounts();
+
+        assertThat(result).isEqualTo(3);
+
+        verify(postRepository, times(1)).findIdsAfter(eq(firstChunk.get(firstChunk.size() - 1)), any(Pageable.class));
+        verify(postRepository, times(1)).reconcileCommentCounts(firstChunk);
+        verify(postRepository, times(1)).reconcileCommentCounts(lastChunk);
+    }
+
+    @Test
+    @DisplayName("should build a post view from the post and one page of comments")
+    void findView() {
+        UUID postId = UUID.randomUUID();
+        ReflectionTestUtils.setField(POST_RECORD, "id", postId);
+        Comment first = new Comment("first", Instant.now(), POST_RECORD, USER_RECORD);
+        Comment second = new Comment("second", Instant.now().minusSeconds(1), POST_RECORD, USER_RECORD);
+        ReflectionTestUtils.setField(first, "id", UUID.randomUUID());
+        when(postRepository.findWithAuthorById(postId)).thenReturn(Optional.of(POST_RECORD));
+        when(commentRepository.findWithAuthorByPost(eq(postId), any(Pageable.class))).thenReturn(Arrays.asList(first, second));
+
+        PostViewDTO result = postService.findView(postId, 1);
+
+        assertThat(result.getId()).isEqualTo(postId);
+        assertThat(result.getAuthor().getUsername()).isEqualTo(USER_RECORD.getUsername());
+        assertThat(result.getComments().getContent()).hasSize(1);
+        assertThat(result.getComments().getContent().get(0).getContent()).isEqualTo("first");
+        assertThat(KeysetCursor.decode(result.getComments().getNextCursor()))
+                .isEqualTo(new KeysetCursor(first.getPublishDate().toString(), first.getId()));
+
+        verify(commentRepository, times(1)).findWithAuthorByPost(postId, PageRequest.of(0, 2));
+    }
+
+    @Test
+    @DisplayName("should throw ResourceNotFoundException if the viewed post does not exist")
+    void findViewNotFound() {
+        when(postRepository.findWithAuthorById(any(UUID.class))).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> postService.findView(UUID.randomUUID(), 10));
+
+        verify(commentRepository, never()).findWithAuthorByPost(any(UUID.class), any(Pageable.class));
+    }
+
     @Test
     @DisplayName("should get a post")
     void findById() {
@@ -181,40 +322,51 @@ class PostServiceTest extends ApplicationConfigTest {
     @DisplayName("should update a post")
     void update() {
         ReflectionTestUtils.setField(USER_RECORD, "id", UUID.randomUUID());
+        PostPatchDTO patch = PostPatchDTO.builder().title("new title").build();
 
-        when(postRepository.getReferenceById(any(UUID.class))).thenReturn(POST_RECORD);
-        when(postRepository.save(any(Post.class))).thenReturn(POST_RECORD);
+        when(postRepository.patchByIdAndAuthor(any(UUID.class), eq(USER_RECORD.getId()), eq(patch))).thenReturn(1);
 
-        POST_RECORD.setTitle("new title");
-        POST_RECORD.setContent("new content");
-
-        Post result = postService.update(UUID.randomUUID(), POST_RECORD);
-
-        assertThat(result).isEqualTo(POST_RECORD);
+        postService.update(UUID.randomUUID(), patch);
 
         verify(authentication, times(1)).getPrincipal();
         verify(securityContext, times(1)).getAuthentication();
-        verify(postRepository, times(1)).getReferenceById(any(UUID.class));
-        verify(postRepository, times(1)).save(any(Post.class));
+        verify(postRepository, times(1)).patchByIdAndAuthor(any(UUID.class), eq(USER_RECORD.getId()), eq(patch));
+        verify(postRepository, never()).getReferenceById(any(UUID.class));
+        verify(postRepository, never()).save(any(Post.class));
     }
 
     @Test
     @DisplayName("should throw UnauthorizedAccessException if checkOwnership is invalid")
     void updateUnauthorizedAccessException() {
-        User user2 = new User("a", "b", "c", Role.ROLE_USER);
-        ReflectionTestUtils.setField(user2, "id", UUID.randomUUID());
+        ReflectionTestUtils.setField(USER_RECORD, "id", UUID.randomUUID());
 
-        when(authentication.getPrincipal()).thenReturn(user2);
+        when(postRepository.patchByIdAndAuthor(any(UUID.class), any(UUID.class), any(PostPatchDTO.class))).thenReturn(0);
+        when(postRepository.existsById(any(UUID.class))).thenReturn(true);
 
-        when(postRepository.getReferenceById(any(UUID.class))).thenReturn(POST_RECORD);
-        when(postRepository.save(any(Post.class))).thenReturn(POST_RECORD);
+        assertThrows(UnauthorizedAccessException.class,
+                () -> postService.update(UUID.randomUUID(), PostPatchDTO.builder().title("new title").build()));
 
-        assertThrows(UnauthorizedAccessException.class, () -> postService.update(UUID.randomUUID(), POST_RECORD));
+        verify(postRepository, times(1)).existsById(any(UUID.class));
+    }
 
-        verify(authentication, times(1)).getPrincipal();
-        verify(securityContext, times(1)).getAuthentication();
-        verify(postRepository, times(1)).getReferenceById(any(UUID.class));
-        verify(postRepository, never()).save(any(Post.class));
+    @Test
+    @DisplayName("should throw ResourceNotFoundException if the post to update does not exist")
+    void updateNotFound() {
+        ReflectionTestUtils.setField(USER_RECORD, "id", UUID.randomUUID());
+
+        when(postRepository.patchByIdAndAuthor(any(UUID.class), any(UUID.class), any(PostPatchDTO.class))).thenReturn(0);
+        when(postRepository.existsById(any(UUID.class))).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> postService.update(UUID.randomUUID(), PostPatchDTO.builder().title("new title").build()));
+    }
+
+    @Test
+    @DisplayName("should throw ResponseStatusException if the patch is empty")
+    void updateEmptyPatch() {
+        assertThrows(ResponseStatusException.class, () -> postService.update(UUID.randomUUID(), new PostPatchDTO()));
+
+        verify(postRepository, never()).patchByIdAndAuthor(any(UUID.class), any(UUID.class), any(PostPatchDTO.class));
     }
 
     @Test
@@ -230,9 +382,24 @@ class PostServiceTest extends ApplicationConfigTest {
         verify(authentication, times(1)).getPrincipal();
         verify(securityContext, times(1)).getAuthentication();
         verify(postRepository, times(1)).getReferenceById(any(UUID.class));
+        verify(commentRepository, times(1)).deleteByPostId(any(UUID.class));
         verify(postRepository, times(1)).deleteById(any(UUID.class));
     }
 
+    @Test
+    @DisplayName("should throw DatabaseException if the delete violates a constraint on flush")
+    void deleteDatabaseException() {
+        ReflectionTestUtils.setField(USER_RECORD, "id", UUID.randomUUID());
+
+        when(postRepository.getReferenceById(any(UUID.class))).thenReturn(POST_RECORD);
+        doThrow(new DataIntegrityViolationException("fk_comments_post_id")).when(postRepository).flush();
+
+        assertThrows(DatabaseException.class, () -> postService.delete(UUID.randomUUID()));
+
+        verify(postRepository, times(1)).deleteById(any(UUID.class));
+        verify(postRepository, times(1)).flush();
+    }
+
     @Test
     @DisplayName("should throw UnauthorizedAccessException if checkOwnership is invalid")
     void deleteUnauthorizedAccessException() {
@@ -250,6 +417,7 @@ class PostServiceTest extends ApplicationConfigTest {
         verify(authentication, times(1)).getPrincipal();
         verify(securityContext, times(1)).getAuthentication();
         verify(postRepository, times(1)).getReferenceById(any(UUID.class));
+        verify(commentRepository, never()).deleteByPostId(any(UUID.class));
         verify(postRepository, never()).deleteById(any(UUID.class));
     }
 
@@ -268,9 +436,31 @@ class PostServiceTest extends ApplicationConfigTest {
         verify(authentication, times(1)).getPrincipal();
         verify(securityContext, times(1)).getAuthentication();
         verify(postRepository, times(1)).getReferenceById(any(UUID.class));
+        verify(commentRepository, times(1)).deleteByPostId(any(UUID.class));
         verify(postRepository, times(1)).deleteById(any(UUID.class));
     }
 
+    @Test
+    @DisplayName("should delete posts and their comments in bounded chunks")
+    void deleteBatch() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < PostService.DELETE_CHUNK_SIZE + 10; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        ids.add(ids.get(0));
+
+        when(postRepository.deleteByIdIn(anyCollection()))
+                .thenAnswer(invocation -> ((Collection<?>) invocation.getArgument(0)).size());
+
+        int result = postService.deleteBatch(ids);
+
+        assertThat(result).isEqualTo(PostService.DELETE_CHUNK_SIZE + 10);
+
+        verify(commentRepository, times(2)).deleteByPostIdIn(anyCollection());
+        verify(postRepository, times(1)).deleteByIdIn(argThat(chunk -> chunk.size() == PostService.DELETE_CHUNK_SIZE));
+        verify(postRepository, times(1)).deleteByIdIn(argThat(chunk -> chunk.size() == 10));
+    }
+
     @Test
     @DisplayName("should increase the upvote")
     void increaseUpvote() {
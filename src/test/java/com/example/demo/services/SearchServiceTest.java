@@ -0,0 +1,169 @@
+package com.example.demo.services;
+
+import com.example.demo.ApplicationConfigTest;
+import com.example.demo.controllers.exceptions.BadRequestException;
+import com.example.demo.dtos.PostExportDTO;
+import com.example.demo.dtos.SearchResultDTO;
+import com.example.demo.entities.Comment;
+import com.example.demo.entities.Post;
+import com.example.demo.entities.User;
+import com.example.demo.entities.enums.PostCategory;
+import com.example.demo.entities.enums.Role;
+import com.example.demo.repositories.CommentRepository;
+import com.example.demo.repositories.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Page;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+@DisplayName("SearchServiceTest")
+class SearchServiceTest extends ApplicationConfigTest {
+    @Autowired
+    SearchService searchService;
+    User USER_RECORD = new User("a", "b", "c", Role.ROLE_USER);
+    Set<PostCategory> CATEGORIES_RECORD = new HashSet<>(Collections.singleton(PostCategory.valueOf(1)));
+    Post POST_RECORD = new Post("Spring security basics", "How to configure the security filter chain with JWT tokens",
+            Instant.now(), CATEGORIES_RECORD, USER_RECORD);
+    Post POST_RECORD_2 = new Post("Travel diary", "A long trip through the mountains, security checks included",
+            Instant.now(), CATEGORIES_RECORD, USER_RECORD);
+    Comment COMMENT_RECORD = new Comment("The filter chain part was really helpful", Instant.now(), POST_RECORD, USER_RECORD);
+    @MockBean
+    private PostRepository postRepository;
+    @MockBean
+    private CommentRepository commentRepository;
+
+    @BeforeEach
+    void setupIndex() {
+        ReflectionTestUtils.setField(POST_RECORD, "id", UUID.randomUUID());
+        ReflectionTestUtils.setField(POST_RECORD_2, "id", UUID.randomUUID());
+        ReflectionTestUtils.setField(COMMENT_RECORD, "id", UUID.randomUUID());
+
+        searchService.rebuild();
+        searchService.indexPost(POST_RECORD);
+        searchService.indexPost(POST_RECORD_2);
+        searchService.indexComment(COMMENT_RECORD);
+    }
+
+    @Test
+    @DisplayName("should rank the most relevant document first")
+    void search() {
+        Page<SearchResultDTO> result = searchService.search("security", 0, 10);
+
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        assertThat(result.getContent().get(0).getId()).isEqualTo(POST_RECORD.getId());
+        assertThat(result.getContent().get(0).getType()).isEqualTo("post");
+    }
+
+    @Test
+    @DisplayName("should match phrases only when the words are adjacent")
+    void searchPhrase() {
+        Page<SearchResultDTO> result = searchService.search("\"filter chain\"", 0, 10);
+
+        assertThat(result.getContent()).extracting(SearchResultDTO::getId)
+                .containsExactlyInAnyOrder(POST_RECORD.getId(), COMMENT_RECORD.getId());
+
+        Page<SearchResultDTO> noMatch = searchService.search("\"chain filter\"", 0, 10);
+
+        assertThat(noMatch.getContent()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should return the post id of a matching comment")
+    void searchComment() {
+        Page<SearchResultDTO> result = searchService.search("helpful", 0, 10);
+
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.getContent().get(0).getType()).isEqualTo("comment");
+        assertThat(result.getContent().get(0).getPostId()).isEqualTo(POST_RECORD.getId());
+    }
+
+    @Test
+    @DisplayName("should reflect updates and deletions")
+    void searchAfterChanges() {
+        POST_RECORD_2.setContent("A long trip through the mountains");
+        searchService.indexPost(POST_RECORD_2);
+        searchService.remove(COMMENT_RECORD.getId());
+
+        assertThat(searchService.search("security", 0, 10).getTotalElements()).isEqualTo(1);
+        assertThat(searchService.search("helpful", 0, 10).getTotalElements()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("should return the correct page")
+    void searchPaging() {
+        Page<SearchResultDTO> result = searchService.search("security", 1, 1);
+
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.getContent().get(0).getId()).isEqualTo(POST_RECORD_2.getId());
+        assertThat(result.getTotalPages()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should clamp a negative page and an out of range page size")
+    void searchPagingClamped() {
+        Page<SearchResultDTO> result = searchService.search("security", -1, 0);
+
+        assertThat(result.getNumber()).isZero();
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(searchService.search("security", 0, 1000).getSize()).isEqualTo(SearchService.MAX_PAGE_SIZE);
+    }
+
+    @Test
+    @DisplayName("should serve the old index during a rebuild and keep the changes made meanwhile")
+    void rebuildKeepsConcurrentChanges() {
+        List<Long> totalsDuringRebuild = new ArrayList<>();
+        when(postRepository.streamForExport()).thenReturn(Stream.of(POST_RECORD, POST_RECORD_2)
+                .map(post -> PostExportDTO.builder().id(post.getId()).title(post.getTitle()).content(post.getContent()).build())
+                .peek(post -> {
+                    if (post.getId().equals(POST_RECORD.getId())) {
+                        totalsDuringRebuild.add(searchService.search("security", 0, 10).getTotalElements());
+                        searchService.remove(POST_RECORD_2.getId());
+                    }
+                }));
+        when(commentRepository.streamForExport()).thenReturn(Stream.empty());
+
+        searchService.rebuild();
+
+        assertThat(totalsDuringRebuild).containsExactly(2L);
+        assertThat(searchService.search("security", 0, 10).getContent()).extracting(SearchResultDTO::getId)
+                .containsExactly(POST_RECORD.getId());
+    }
+
+    @Test
+    @DisplayName("should load the index saved at shutdown only once")
+    void loadSavedIndex(@TempDir Path directory) {
+        ReflectionTestUtils.setField(searchService, "indexDirectory", directory.toString());
+        try {
+            searchService.flush();
+            searchService.load();
+
+            assertThat(searchService.search("helpful", 0, 10).getTotalElements()).isEqualTo(1);
+            assertThat(directory.resolve("segment.idx")).doesNotExist();
+
+            searchService.load();
+
+            assertThat(searchService.search("helpful", 0, 10).getTotalElements()).isEqualTo(0);
+        } finally {
+            ReflectionTestUtils.setField(searchService, "indexDirectory", "");
+        }
+    }
+
+    @Test
+    @DisplayName("should throw BadRequestException for an empty query")
+    void searchEmptyQuery() {
+        assertThrows(BadRequestException.class, () -> searchService.search("  the ", 0, 10));
+    }
+}
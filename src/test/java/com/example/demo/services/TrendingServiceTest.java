@@ -0,0 +1,109 @@
+package com.example.demo.services;
+
+import com.example.demo.ApplicationConfigTest;
+import com.example.demo.dtos.TrendingPostDTO;
+import com.example.demo.entities.Post;
+import com.example.demo.entities.User;
+import com.example.demo.entities.enums.PostCategory;
+import com.example.demo.entities.enums.Role;
+import com.example.demo.repositories.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("TrendingServiceTest")
+class TrendingServiceTest extends ApplicationConfigTest {
+    @Autowired
+    TrendingService trendingService;
+    User USER_RECORD = new User("a", "b", "c", Role.ROLE_USER);
+    Set<PostCategory> CATEGORIES_RECORD = new HashSet<>(Collections.singleton(PostCategory.valueOf(1)));
+    Post POST_RECORD = new Post("new post", "contentmusthaveatleast30characters", Instant.now(), CATEGORIES_RECORD, USER_RECORD);
+    Post POST_RECORD_2 = new Post("old post", "contentmusthaveatleast30characters",
+            Instant.now().minus(Duration.ofDays(2)), CATEGORIES_RECORD, USER_RECORD);
+    @MockBean
+    private PostRepository postRepository;
+
+    @BeforeEach
+    void setupTrending() {
+        ReflectionTestUtils.setField(POST_RECORD, "id", UUID.randomUUID());
+        ReflectionTestUtils.setField(POST_RECORD_2, "id", UUID.randomUUID());
+        when(postRepository.findByPublishDateAfter(any(Instant.class))).thenReturn(List.of(POST_RECORD_2));
+
+        trendingService.load();
+    }
+
+    @Test
+    @DisplayName("should load recent posts on startup")
+    void load() {
+        List<TrendingPostDTO> result = trendingService.findTrending(10);
+
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getId()).isEqualTo(POST_RECORD_2.getId());
+
+        verify(postRepository, atLeastOnce()).findByPublishDateAfter(any(Instant.class));
+    }
+
+    @Test
+    @DisplayName("should rank newer posts above older ones with the same activity")
+    void recordPost() {
+        trendingService.recordPost(POST_RECORD);
+
+        List<TrendingPostDTO> result = trendingService.findTrending(10);
+
+        assertThat(result).extracting(TrendingPostDTO::getId)
+                .containsExactly(POST_RECORD.getId(), POST_RECORD_2.getId());
+    }
+
+    @Test
+    @DisplayName("should move a post up when it receives upvotes and comments")
+    void recordActivity() {
+        trendingService.recordPost(POST_RECORD);
+
+        POST_RECORD_2.increaseUpvote(UUID.randomUUID());
+        trendingService.recordUpvote(POST_RECORD_2);
+        trendingService.recordComment(POST_RECORD_2.getId());
+
+        List<TrendingPostDTO> result = trendingService.findTrending(10);
+
+        assertThat(result.get(0).getId()).isEqualTo(POST_RECORD_2.getId());
+        assertThat(result.get(0).getUpvotes()).isEqualTo(1);
+        assertThat(result.get(0).getComments()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should keep the ranking and scores when rebasing the decay")
+    void rebase() {
+        trendingService.recordPost(POST_RECORD);
+        List<TrendingPostDTO> before = trendingService.findTrending(10);
+
+        trendingService.rebase();
+        List<TrendingPostDTO> after = trendingService.findTrending(10);
+
+        assertThat(after).extracting(TrendingPostDTO::getId)
+                .containsExactlyElementsOf(before.stream().map(TrendingPostDTO::getId).toList());
+        assertThat(after.get(0).getScore()).isCloseTo(before.get(0).getScore(), within(1e-3));
+    }
+
+    @Test
+    @DisplayName("should drop removed posts and respect the limit")
+    void remove() {
+        trendingService.recordPost(POST_RECORD);
+        trendingService.remove(POST_RECORD_2.getId());
+
+        assertThat(trendingService.findTrending(10)).extracting(TrendingPostDTO::getId)
+                .containsExactly(POST_RECORD.getId());
+        assertThat(trendingService.findTrending(0)).isEmpty();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.demo.services.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("UuidV7Test")
+class UuidV7Test {
+
+    @Test
+    @DisplayName("should set the version, the variant and the current time")
+    void layout() {
+        UUID uuid = UuidV7.generate();
+
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(UuidV7.timestamp(uuid)).isCloseTo(System.currentTimeMillis(), within(1000L));
+    }
+
+    @Test
+    @DisplayName("should generate increasing ids even within the same millisecond")
+    void monotonic() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            ids.add(UuidV7.generate());
+        }
+
+        for (int i = 1; i < ids.size(); i++) {
+            assertThat(Long.compareUnsigned(ids.get(i).getMostSignificantBits(),
+                    ids.get(i - 1).getMostSignificantBits())).isPositive();
+        }
+    }
+
+    @Test
+    @DisplayName("should not generate duplicates across threads")
+    void unique() throws InterruptedException {
+        Collection<UUID> ids = new ConcurrentLinkedQueue<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    ids.add(UuidV7.generate());
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Set<UUID> distinct = new HashSet<>(ids);
+        assertThat(distinct).hasSize(80_000);
+    }
+}